@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.benchmarks;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import tech.metacontext.ec.prototype.composer.Main;
+import tech.metacontext.ec.prototype.composer.Settings.LogState;
+import tech.metacontext.ec.prototype.composer.enums.ComposerAim;
+import tech.metacontext.ec.prototype.composer.model.Composer;
+import tech.metacontext.ec.prototype.composer.model.Composition;
+import tech.metacontext.ec.prototype.composer.styles.GoldenSectionClimax;
+import tech.metacontext.ec.prototype.composer.styles.UnaccompaniedCello;
+import static tech.metacontext.ec.prototype.composer.Parameters.*;
+
+/**
+ * A seeded Composer evolved for some generations, with the styles of Main, so
+ * that benchmarks work on compositions as they are in a real run. Material
+ * implementations are selected by the packed parameter; JMH forks a JVM for
+ * every parameter combination.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+@State(Scope.Benchmark)
+public class ComposerState {
+
+    public static final long SEED = 42L;
+
+    @Param({"false", "true"})
+    public boolean packed;
+
+    public Composer composer;
+    public UnaccompaniedCello cello;
+    public GoldenSectionClimax climax;
+    /**
+     * Completed compositions of the population.
+     */
+    public List<Composition> completed;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        if (packed) {
+            Main.usePackedMaterials();
+        }
+        this.cello = new UnaccompaniedCello();
+        this.climax = new GoldenSectionClimax(UnaccompaniedCello.RANGE.keySet());
+        this.composer = newComposer(100, cello, climax);
+        for (int i = 0; i < 20; i++) {
+            composer.sketch().evolve();
+        }
+        composer.getPopulation().forEach(Composition::updateEval);
+        this.completed = composer.getPopulation().stream()
+                .filter(composer.getAim()::isCompleted)
+                .collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        composer.close();
+    }
+
+    /**
+     * Construct a seeded Composer archiving scores only and logging nothing.
+     *
+     * @param size population size.
+     * @param cello
+     * @param climax
+     * @return the Composer.
+     * @throws Exception
+     */
+    public static Composer newComposer(int size,
+            UnaccompaniedCello cello, GoldenSectionClimax climax) throws Exception {
+
+        var composer = new Composer(size, ComposerAim.Phrase, LogState.DISABLED,
+                SELECTION_THRESHOLD.getDouble(), MIN_CONSERVE_SCORE.getDouble(),
+                SEED, cello, climax);
+        composer.ARCHIVE_SCORES_ONLY = true;
+        return composer;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import tech.metacontext.ec.prototype.composer.model.Composition;
+import tech.metacontext.ec.prototype.composer.model.SketchNode;
+
+/**
+ * Rendering and rating a completed composition, and qualifying its nodes.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompositionBenchmark {
+
+    private ComposerState state;
+    private Composition composition;
+    private List<SketchNode> nodes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup(ComposerState state) {
+
+        this.state = state;
+        this.composition = state.completed.get(0);
+        this.nodes = composition.getRenderedChecked(null);
+    }
+
+    /**
+     * Render all nodes from the seed, as after a mutation of the first
+     * connector.
+     *
+     * @return rendered nodes.
+     */
+    @Benchmark
+    public List<SketchNode> render() {
+
+        composition.setConnector(0, composition.getConnectors().get(0));
+        return composition.render();
+    }
+
+    @Benchmark
+    public double rateGoldenSectionClimax() {
+
+        return state.climax.rateComposition(composition);
+    }
+
+    @Benchmark
+    public double rateUnaccompaniedCello() {
+
+        return state.cello.rateComposition(composition);
+    }
+
+    @Benchmark
+    public boolean qualifyUnaccompaniedCello() {
+
+        next = (next + 1) % nodes.size();
+        return state.cello.qualifySketchNode(nodes.get(next));
+    }
+}
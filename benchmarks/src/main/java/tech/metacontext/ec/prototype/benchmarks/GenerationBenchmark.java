@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import tech.metacontext.ec.prototype.composer.Main;
+import tech.metacontext.ec.prototype.composer.model.Composer;
+import tech.metacontext.ec.prototype.composer.styles.GoldenSectionClimax;
+import tech.metacontext.ec.prototype.composer.styles.UnaccompaniedCello;
+
+/**
+ * A full generation, sketch().evolve(), at several population sizes. The
+ * Composer is evolved for some generations before measuring, so that the
+ * population holds compositions of all lengths.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = 1)
+@Measurement(iterations = 10, batchSize = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GenerationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean packed;
+
+    private Composer composer;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        if (packed) {
+            Main.usePackedMaterials();
+        }
+        this.composer = ComposerState.newComposer(size,
+                new UnaccompaniedCello(),
+                new GoldenSectionClimax(UnaccompaniedCello.RANGE.keySet()));
+        for (int i = 0; i < 10; i++) {
+            composer.sketch().evolve();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        composer.close();
+    }
+
+    @Benchmark
+    public void generation() {
+
+        composer.sketch().evolve();
+    }
+}
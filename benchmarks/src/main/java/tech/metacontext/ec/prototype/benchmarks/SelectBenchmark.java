@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import tech.metacontext.ec.prototype.composer.model.Composer;
+import tech.metacontext.ec.prototype.composer.model.Composition;
+import static tech.metacontext.ec.prototype.composer.Parameters.*;
+
+/**
+ * Parent selection, through the selection indexes of a generation and by
+ * criteria over the whole population.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectBenchmark {
+
+    private Composer composer;
+
+    @Setup(Level.Trial)
+    public void setup(ComposerState state) {
+
+        this.composer = state.composer;
+        composer.getSelectionIndexes();
+    }
+
+    @Benchmark
+    public Composition selectIndexed() {
+
+        return composer.select(Composer.SELECT_FROM_ALL,
+                SELECTION_THRESHOLD.getDouble());
+    }
+
+    @Benchmark
+    public Composition selectCompleted() {
+
+        return composer.select(Composer.SELECT_ONLY_COMPLETED,
+                SELECTION_THRESHOLD.getDouble());
+    }
+
+    @Benchmark
+    public Composition selectByCriteria() {
+
+        return composer.select(composer.getAim()::isCompleted,
+                SELECTION_THRESHOLD.getDouble());
+    }
+}
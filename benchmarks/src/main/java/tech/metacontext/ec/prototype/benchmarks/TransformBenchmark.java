@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import tech.metacontext.ec.prototype.composer.enums.MaterialType;
+import tech.metacontext.ec.prototype.composer.enums.TransformType;
+import tech.metacontext.ec.prototype.composer.factory.SketchNodeFactory;
+import tech.metacontext.ec.prototype.composer.model.Connector;
+import tech.metacontext.ec.prototype.composer.model.SketchNode;
+
+/**
+ * Connector.transform with all materials transformed by one TransformType.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransformBenchmark {
+
+    @Param({"Repetition", "Retrograde", "MoveForward", "MoveBackward", "Disconnected"})
+    public TransformType type;
+
+    private Connector connector;
+
+    @Setup(Level.Trial)
+    public void setup(ComposerState state) {
+
+        this.connector = new Connector();
+        for (var mt : MaterialType.values()) {
+            connector.addTransformType(mt, type);
+        }
+        connector.setPrevious(SketchNodeFactory.getInstance()
+                .newInstance(state.composer.getInit()));
+    }
+
+    @Benchmark
+    public SketchNode transform() {
+
+        return connector.transform();
+    }
+}
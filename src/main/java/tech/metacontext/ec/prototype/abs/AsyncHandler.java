@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.abs;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * Handler publishing records to another handler on a background thread, so
+ * that formatting and file output stay off the logging threads. At most
+ * capacity records are pending; logging blocks beyond that rather than drop
+ * records. Records published before close() is called are not lost; those
+ * published once it is called are ignored.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class AsyncHandler extends Handler {
+
+    private static final int BATCH_SIZE = 256;
+
+    private final Handler target;
+    private final BlockingQueue<LogRecord> queue;
+    private final Thread worker;
+    /**
+     * Notified when no record is pending.
+     */
+    private final Object drained = new Object();
+    /**
+     * Records being published, counted before closed is checked, so that
+     * close() waits for any record let through.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param target handler to publish to; closed with this handler.
+     * @param capacity maximum number of pending records.
+     */
+    public AsyncHandler(Handler target, int capacity) {
+
+        this.target = target;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::drain, "AsyncHandler-" + target.getClass().getSimpleName());
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+
+        if (!isLoggable(record)) {
+            return;
+        }
+        pending.incrementAndGet();
+        if (closed) {
+            done(1);
+            return;
+        }
+        try {
+            queue.put(record);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            done(1);
+            target.publish(record);
+        }
+    }
+
+    private void drain() {
+
+        var batch = new ArrayList<LogRecord>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException ex) {
+                return;
+            }
+            queue.drainTo(batch, BATCH_SIZE - 1);
+            try {
+                batch.forEach(target::publish);
+            } catch (RuntimeException ex) {
+                reportError(null, ex, ErrorManager.WRITE_FAILURE);
+            }
+            done(batch.size());
+            batch.clear();
+        }
+    }
+
+    private void done(int count) {
+
+        if (pending.addAndGet(-count) == 0) {
+            synchronized (drained) {
+                drained.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Wait until all pending records are published, then flush the target.
+     */
+    @Override
+    public void flush() {
+
+        synchronized (drained) {
+            while (pending.get() > 0 && worker.isAlive()) {
+                try {
+                    drained.wait(100);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        target.flush();
+    }
+
+    /**
+     * Stop accepting records, publish all pending ones and close the target.
+     */
+    @Override
+    public synchronized void close() {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flush();
+        worker.interrupt();
+        try {
+            worker.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        for (var record = queue.poll(); record != null; record = queue.poll()) {
+            target.publish(record);
+        }
+        target.close();
+    }
+}
@@ -17,7 +17,6 @@ package tech.metacontext.ec.prototype.abs;
 
 import java.io.Serializable;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  *
@@ -27,6 +26,7 @@ import java.util.UUID;
 public abstract class Individual<E> implements Serializable {
 
     private final String id;
+    private transient String id_prefix;
     private E eval;
 
     public Individual(String id) {
@@ -36,12 +36,23 @@ public abstract class Individual<E> implements Serializable {
 
     public Individual() {
 
-        this(UUID.randomUUID().toString());
+        this(SplitRandom.current().nextUUID().toString());
     }
 
+    /**
+     * Get the short form of id, computed once, as it is passed to log messages
+     * on every operation.
+     *
+     * @return the id prefix.
+     */
     public String getId_prefix() {
 
-        return "[" + id.substring(0, 13) + "]";
+        var prefix = this.id_prefix;
+        if (prefix == null) {
+            prefix = "[" + id.substring(0, 13) + "]";
+            this.id_prefix = prefix;
+        }
+        return prefix;
     }
 
     @Override
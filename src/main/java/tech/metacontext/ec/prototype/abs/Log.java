@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.abs;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Logging facade over a Logger for hot paths. Each method checks the level
+ * before anything else, and parameters are passed without an array, so that a
+ * disabled level costs a single branch. Records are logged without source
+ * class and method, sparing the stack walk to infer them; the logger name is
+ * reported instead.
+ * <p>
+ * Parameters are logged as given, so any argument which is costly to compute
+ * should be guarded by isLoggable.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public final class Log {
+
+    private final Logger logger;
+
+    public Log(Logger logger) {
+
+        this.logger = logger;
+    }
+
+    public boolean isLoggable(Level level) {
+
+        return logger.isLoggable(level);
+    }
+
+    public void log(Level level, String msg) {
+
+        if (logger.isLoggable(level)) {
+            logger.logp(level, null, null, msg);
+        }
+    }
+
+    public void log(Level level, String msg, Object p0) {
+
+        if (logger.isLoggable(level)) {
+            logger.logp(level, null, null, msg, p0);
+        }
+    }
+
+    public void log(Level level, String msg, Object p0, Object p1) {
+
+        if (logger.isLoggable(level)) {
+            logger.logp(level, null, null, msg, new Object[]{p0, p1});
+        }
+    }
+
+    public void log(Level level, String msg, Object p0, Object p1, Object p2) {
+
+        if (logger.isLoggable(level)) {
+            logger.logp(level, null, null, msg, new Object[]{p0, p1, p2});
+        }
+    }
+
+    /**
+     * Log with any number of parameters. The array is built by the caller, so
+     * calls on hot paths should be guarded by isLoggable.
+     *
+     * @param level
+     * @param msg
+     * @param params
+     */
+    public void log(Level level, String msg, Object... params) {
+
+        if (logger.isLoggable(level)) {
+            logger.logp(level, null, null, msg, params);
+        }
+    }
+
+    public Logger getLogger() {
+
+        return logger;
+    }
+}
@@ -40,10 +40,11 @@ public abstract class Population<E extends Individual> implements Serializable {
 
     private static final long serialVersionUID = 0L;
 
-    private final transient Logger _logger;
+    private transient Logger _logger;
+    private transient Log _log;
     private final UUID id;
     private List<E> population;
-    private final transient List<List<E>> archive;
+    private transient List<List<E>> archive;
     private int genCount;
 
     public Population() {
@@ -61,11 +62,21 @@ public abstract class Population<E extends Individual> implements Serializable {
 
         this.id = id;
         _logger = Logger.getLogger(getId());
+        _log = new Log(_logger);
         this.population = new ArrayList<>();
         this.archive = new ArrayList<>();
         this.genCount = 0;
     }
 
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+
+        in.defaultReadObject();
+        this._logger = Logger.getLogger(getId());
+        this._log = new Log(this._logger);
+        this.archive = new ArrayList<>();
+    }
+
     /**
      * Make population evolve.
      *
@@ -239,4 +250,8 @@ public abstract class Population<E extends Individual> implements Serializable {
     public Logger getLogger() {
         return this._logger;
     }
+
+    public Log getLog() {
+        return this._log;
+    }
 }
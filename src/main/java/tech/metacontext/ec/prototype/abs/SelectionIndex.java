@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.abs;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Rank-indexed view of a population for threshold selection. Individuals are
+ * scored and sorted once on construction; each draw afterwards costs O(1).
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ * @param <E>
+ */
+public class SelectionIndex<E> {
+
+    /**
+     * Individuals in ascending order of score.
+     */
+    private final List<E> ranked;
+    private final double[] scores;
+    /**
+     * For each rank, the lowest rank holding the same score.
+     */
+    private final int[] tieStart;
+
+    /**
+     * Constructor.
+     *
+     * @param individuals to be indexed.
+     * @param scorer score of an individual, evaluated once per individual.
+     */
+    public SelectionIndex(Collection<E> individuals, ToDoubleFunction<E> scorer) {
+
+        var scored = individuals.stream()
+                .map(e -> new Scored<>(e, scorer.applyAsDouble(e)))
+                .sorted(Comparator.comparingDouble(s -> s.score))
+                .collect(Collectors.toList());
+        this.ranked = scored.stream()
+                .map(s -> s.individual)
+                .collect(Collectors.toList());
+        this.scores = scored.stream()
+                .mapToDouble(s -> s.score)
+                .toArray();
+        this.tieStart = new int[scores.length];
+        for (int i = 1; i < scores.length; i++) {
+            tieStart[i] = (scores[i] == scores[i - 1]) ? tieStart[i - 1] : i;
+        }
+    }
+
+    /**
+     * Randomly select an individual whose score is not lower than the score
+     * found at the threshold rank.
+     *
+     * @param threshold in percentage. For eg., 0.9 stands for that selected
+     * score must be higher than 90% of the indexed individuals.
+     * @param random
+     * @return the selected individual, or null if the index is empty or the
+     * threshold is out of range.
+     */
+    public E select(double threshold, Random random) {
+
+        if (ranked.isEmpty() || threshold > 1.0 || threshold < 0.0) {
+            return null;
+        }
+        int lowest = tieStart[(int) ((ranked.size() - 1) * threshold)];
+        return ranked.get(lowest + random.nextInt(ranked.size() - lowest));
+    }
+
+    public int size() {
+
+        return ranked.size();
+    }
+
+    public boolean isEmpty() {
+
+        return ranked.isEmpty();
+    }
+
+    private static class Scored<E> {
+
+        final E individual;
+        final double score;
+
+        Scored(E individual, double score) {
+            this.individual = individual;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2019 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.abs;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Splittable, serializable random generator (SplitMix64). Instances are not
+ * thread-safe: each thread of work should use its own instance obtained by
+ * {@link #split()}, bound to the working thread by
+ * {@link #callWith(SplitRandom, Supplier)}.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class SplitRandom extends Random {
+
+    private static final long serialVersionUID = 0L;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Generator bound to current thread.
+     */
+    private static final ThreadLocal<SplitRandom> BOUND
+            = ThreadLocal.withInitial(SplitRandom::new);
+
+    private long state;
+    private long gamma;
+
+    public SplitRandom() {
+
+        this(mix64(System.nanoTime()) ^ mix64(Thread.currentThread().getId()
+                + GOLDEN_GAMMA * System.identityHashCode(new Object())));
+    }
+
+    public SplitRandom(long seed) {
+
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private SplitRandom(long seed, long gamma) {
+
+        super(0L);
+        this.state = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Get the generator bound to current thread.
+     *
+     * @return the generator bound by callWith, or a thread default one.
+     */
+    public static SplitRandom current() {
+
+        return BOUND.get();
+    }
+
+    /**
+     * Run a task with specified generator bound to current thread.
+     *
+     * @param <T>
+     * @param random generator to be returned by current() during the task.
+     * @param task
+     * @return result of the task.
+     */
+    public static <T> T callWith(SplitRandom random, Supplier<T> task) {
+
+        var previous = BOUND.get();
+        BOUND.set(random);
+        try {
+            return task.get();
+        } finally {
+            BOUND.set(previous);
+        }
+    }
+
+    /**
+     * Run a task with specified generator bound to current thread.
+     *
+     * @param random generator to be returned by current() during the task.
+     * @param task
+     */
+    public static void runWith(SplitRandom random, Runnable task) {
+
+        callWith(random, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Construct a new generator sharing no mutable state with this one.
+     *
+     * @return the new generator.
+     */
+    public SplitRandom split() {
+
+        return new SplitRandom(nextLong(), mixGamma(nextState()));
+    }
+
+    /**
+     * Generate a type 4 UUID from this generator, so that identifiers are
+     * reproducible as well as everything else in a seeded run.
+     *
+     * @return the UUID.
+     */
+    public UUID nextUUID() {
+
+        long msb = (nextLong() & ~0xf000L) | 0x4000L;
+        long lsb = (nextLong() & ~(0xc000L << 48)) | (0x8000L << 48);
+        return new UUID(msb, lsb);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+
+        super.setSeed(seed);
+        this.state = seed;
+        this.gamma = GOLDEN_GAMMA;
+    }
+
+    @Override
+    protected int next(int bits) {
+
+        return mix32(nextState()) >>> (32 - bits);
+    }
+
+    @Override
+    public int nextInt() {
+
+        return mix32(nextState());
+    }
+
+    @Override
+    public long nextLong() {
+
+        return mix64(nextState());
+    }
+
+    @Override
+    public double nextDouble() {
+
+        return (mix64(nextState()) >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+
+        return mix32(nextState()) < 0;
+    }
+
+    private long nextState() {
+
+        return (state += gamma);
+    }
+
+    private static long mix64(long z) {
+
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c2dd1a1bL) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        return (Long.bitCount(z ^ (z >>> 1)) < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
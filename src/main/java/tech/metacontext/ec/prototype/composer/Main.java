@@ -15,8 +15,15 @@
  */
 package tech.metacontext.ec.prototype.composer;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.OptionalLong;
 import tech.metacontext.ec.prototype.composer.enums.ComposerAim;
+import tech.metacontext.ec.prototype.composer.enums.MaterialType;
+import tech.metacontext.ec.prototype.composer.materials.*;
+import tech.metacontext.ec.prototype.composer.metrics.MetricsFileSink;
 import tech.metacontext.ec.prototype.composer.model.*;
 import tech.metacontext.ec.prototype.composer.styles.*;
 import tech.metacontext.ec.prototype.draw.LineChart_AWT;
@@ -34,7 +41,13 @@ public class Main {
     /**
      * Entry point of main.
      *
-     * @param args
+     * @param args optional "--seed n" for a reproducible run, "--packed" for
+     * packed material implementations, "--scores-only" for archiving scores
+     * and sizes only, "--resume id" for resuming a run from its last
+     * checkpoint, "--debug-trail n" for keeping the last n debug events of
+     * each Composition, "--metrics file" for writing metrics of every
+     * generation to file, as CSV if named *.csv or as JSON lines otherwise,
+     * "--intern" for storing equal materials once in MaterialPool.
      * @throws Exception
      */
     public static void main(String[] args) throws Exception {
@@ -44,11 +57,43 @@ public class Main {
         int SELECTED_SIZE = 0;
         int GENERATION = 300;
 
-        Main main = new Main(
-                POP_SIZE,
-                SELECTED_SIZE,
-                GENERATION,
-                LogState.DISABLED);
+        var seed = OptionalLong.empty();
+        String resume = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seed":
+                    seed = OptionalLong.of(Long.parseLong(args[++i]));
+                    break;
+                case "--packed":
+                    usePackedMaterials();
+                    break;
+                case "--scores-only":
+                    scoresOnly = true;
+                    break;
+                case "--resume":
+                    resume = args[++i];
+                    break;
+                case "--debug-trail":
+                    DebugTrail.setCapacity(Integer.parseInt(args[++i]));
+                    break;
+                case "--metrics":
+                    metricsFile = Path.of(args[++i]);
+                    break;
+                case "--intern":
+                    MaterialPool.setEnabled(true);
+                    break;
+            }
+        }
+        Main main = Objects.nonNull(resume)
+                ? new Main(Composer.resume(resume), SELECTED_SIZE, GENERATION)
+                : new Main(
+                        POP_SIZE,
+                        SELECTED_SIZE,
+                        GENERATION,
+                        SELECTION_THRESHOLD.getDouble(),
+                        MIN_CONSERVE_SCORE.getDouble(),
+                        LogState.DISABLED,
+                        seed);
 
         main.composer.draw(Composer.DRAWTYPE_COMBINEDCHART);
         System.out.println(header("Persisting Conservatory"));
@@ -81,6 +126,9 @@ public class Main {
 
     }
 
+    private static boolean scoresOnly;
+    private static Path metricsFile;
+
     private Composer composer;
 
     /**
@@ -120,14 +168,43 @@ public class Main {
             double conserve_score,
             LogState logState) throws Exception {
 
-        this.composer = new Composer(popSize, ComposerAim.Phrase,
-                logState, threshold, conserve_score,
-                new UnaccompaniedCello(),
-                new GoldenSectionClimax(UnaccompaniedCello.RANGE.keySet())
-        );
+        this(popSize, goalSize, generation, threshold, conserve_score,
+                logState, OptionalLong.empty());
+    }
+
+    /**
+     *
+     * @param popSize
+     * @param goalSize
+     * @param generation
+     * @param threshold
+     * @param conserve_score
+     * @param logState
+     * @param seed seed for a reproducible run, or empty for a random one.
+     * @throws Exception
+     */
+    public Main(int popSize,
+            int goalSize,
+            int generation,
+            double threshold,
+            double conserve_score,
+            LogState logState,
+            OptionalLong seed) throws Exception {
+
+        var styles = new Style[]{
+            new UnaccompaniedCello(),
+            new GoldenSectionClimax(UnaccompaniedCello.RANGE.keySet())
+        };
+        this.composer = seed.isPresent()
+                ? new Composer(popSize, ComposerAim.Phrase,
+                        logState, threshold, conserve_score,
+                        seed.getAsLong(), styles)
+                : new Composer(popSize, ComposerAim.Phrase,
+                        logState, threshold, conserve_score, styles);
         if (generation <= 300) {
             this.composer.ARCHIVE_TO_DISK = false;
         }
+        this.composer.ARCHIVE_SCORES_ONLY = scoresOnly;
         System.out.println(header("Evolutionary Computation"));
         System.out.printf("Composer = [%s]\n", composer.getId());
         System.out.println("Population size = " + popSize);
@@ -135,8 +212,52 @@ public class Main {
         System.out.println("Threshold = " + threshold);
         System.out.println("Conserve Score = " + conserve_score);
         System.out.println("Generation = " + generation);
+        seed.ifPresent(s -> System.out.println("Seed = " + s));
+        this.run(goalSize, generation);
+    }
+
+    /**
+     * Constructor for continuing a resumed run. Scores are archived only if
+     * the run did so, or if "--scores-only" is given.
+     *
+     * @param composer resumed from a checkpoint.
+     * @param goalSize
+     * @param generation
+     * @throws Exception
+     */
+    public Main(Composer composer,
+            int goalSize,
+            int generation) throws Exception {
+
+        this.composer = composer;
+        if (scoresOnly) {
+            this.composer.ARCHIVE_SCORES_ONLY = true;
+        }
+        System.out.println(header("Evolutionary Computation"));
+        System.out.printf("Composer = [%s]\n", composer.getId());
+        System.out.println("Resumed at generation = " + composer.getGenCount());
+        System.out.println("Expected conservatory size = " + goalSize);
+        System.out.println("Generation = " + generation);
+        this.run(goalSize, generation);
+    }
+
+    /**
+     * Evolve until both the expected conservatory size and the number of
+     * generations are reached, checkpointing every CHECKPOINT_INTERVAL
+     * generations.
+     *
+     * @param goalSize
+     * @param generation
+     * @throws IOException if the metrics file cannot be opened.
+     */
+    private void run(int goalSize, int generation) throws IOException {
+
+        if (Objects.nonNull(metricsFile)) {
+            composer.getMetrics().addSink(MetricsFileSink.of(metricsFile));
+            System.out.println("Metrics = " + metricsFile);
+        }
         System.out.println(header("Evolution"));
-        int conserved = 0;
+        int conserved = composer.getConservatory().size();
         do {
             if (composer.getGenCount() > 0) {
                 if (composer.getGenCount() % 100 == 0) {
@@ -147,6 +268,9 @@ public class Main {
             }
             //
             composer.sketch().evolve();
+            if (composer.getGenCount() % CHECKPOINT_INTERVAL.getInt() == 0) {
+                composer.save();
+            }
             //
             if (composer.getConservatory().size() > conserved) {
                 System.out.print(composer.getConservatory().size() - conserved);
@@ -157,17 +281,18 @@ public class Main {
         } while (composer.getConservatory().size() < goalSize
                 || composer.getGenCount() < generation);
         System.out.println(" (" + composer.getGenCount() + ")");
-
+        System.out.println(composer.getFitnessCache());
+        if (MaterialPool.isEnabled()) {
+            System.out.println("MaterialPool{size=" + MaterialPool.size() + "}");
+        }
         composer.save();
+        composer.close();
 
         System.out.println(header("Dumping Archive"));
 
-        if (composer.getArchive().isEmpty()) {
-            composer.readArchive();
-        }
         IntStream.range(0, composer.getGenCount())
                 .mapToObj(i -> String.format("%3d >> ", i)
-                + Composer.getSummary(composer.getArchive().get(i)))
+                + composer.getScoreArchive().getSummary(i))
                 .forEach(System.out::println);
 
         composer.getConservatory().keySet().stream()
@@ -181,6 +306,22 @@ public class Main {
                 .forEach(System.out::println);
     }
 
+    /**
+     * Select packed implementations of MusicMaterials, which score the same
+     * results with far less allocation.
+     */
+    public static void usePackedMaterials() {
+
+        MaterialType.PITCH_SETS.setImplementation(PackedPitchSets.class,
+                PackedPitchSets::new, mm -> new PackedPitchSets((PitchSets) mm));
+        MaterialType.RHYTHMIC_POINTS.setImplementation(PackedRhythmicPoints.class,
+                PackedRhythmicPoints::new, mm -> new PackedRhythmicPoints((RhythmicPoints) mm));
+        MaterialType.DYNAMICS.setImplementation(PackedDynamics.class,
+                PackedDynamics::new, mm -> new PackedDynamics((Dynamics) mm));
+        MaterialType.NOTE_RANGES.setImplementation(PackedNoteRanges.class,
+                PackedNoteRanges::new, mm -> new PackedNoteRanges((NoteRanges) mm));
+    }
+
     static String header(String text) {
 
         return "\n---------- " + text + " ----------";
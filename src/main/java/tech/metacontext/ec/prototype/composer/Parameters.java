@@ -94,7 +94,20 @@ public enum Parameters {
     /**
      * Chance to preserve when producing a Disconnected Transform Type.
      */
-    CHANCE_DISCONNECTED(1.0);
+    CHANCE_DISCONNECTED(1.0),
+    /**
+     * Maximum number of scores kept in the fitness cache of a Composer.
+     */
+    FITNESS_CACHE_SIZE(10000),
+    /**
+     * Maximum number of generations waiting to be archived in background
+     * before sketching blocks.
+     */
+    ARCHIVE_QUEUE_SIZE(2),
+    /**
+     * Number of generations between checkpoints of a run.
+     */
+    CHECKPOINT_INTERVAL(50);
 
     public final Number value;
 
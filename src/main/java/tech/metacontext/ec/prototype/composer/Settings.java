@@ -18,6 +18,7 @@ package tech.metacontext.ec.prototype.composer;
 import java.io.File;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
+import tech.metacontext.ec.prototype.abs.AsyncHandler;
 import java.util.logging.FileHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -39,10 +40,24 @@ public class Settings {
 
     public static String SER_PATH = "ser/";
     
+    /**
+     * Maximum number of log records waiting to be written to a log file.
+     */
+    public static int LOG_QUEUE_SIZE = 8192;
+
     public static enum LogState {
         DEFAULT, TEST, DISABLED
     }
 
+    /**
+     * Set where a logger writes to. Log files are written in background. A
+     * disabled logger is turned off, so that logging costs no more than a
+     * level check.
+     *
+     * @param STATE
+     * @param logger
+     * @throws Exception
+     */
     public static void setFileHandler(LogState STATE, Logger logger)
             throws Exception {
 
@@ -54,6 +69,7 @@ public class Settings {
         switch (STATE) {
             case DISABLED:
                 logger.setUseParentHandlers(false);
+                logger.setLevel(Level.OFF);
                 return;
             case TEST:
                 file_path = new File(LOG_PATH_TEST);
@@ -69,6 +85,7 @@ public class Settings {
                 getTimeBasedFilename() + ".log").toString(), true);
         fh.setEncoding("UTF-8");
         fh.setFormatter(new SimpleFormatter());
-        logger.addHandler(fh);
+        logger.setLevel(null);
+        logger.addHandler(new AsyncHandler(fh, LOG_QUEUE_SIZE));
     }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.archive;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Layout of a generation archive file, one file per generation:
+ * <pre>
+ * header   int MAGIC, short VERSION, int generation, int count,
+ *          byte style count, style class names (UTF),
+ *          byte MaterialType count
+ * bodies   per composition: seed node, int connector count, then per
+ *          connector its id, one TransformType ordinal per MaterialType
+ *          (-1 if absent) and its next node. A node is its id followed by
+ *          its materials in MaterialType order, encoded by MaterialCodec.
+ * columns  ids: count x (long, long)
+ *          sizes: count x int
+ *          scores: count x style count x double
+ *          offsets: count x long, file offset of each body
+ * trailer  long offset of columns, int MAGIC
+ * </pre>
+ * All numbers are big-endian. Columns are fixed-width, so that scores and
+ * sizes can be read without decoding bodies.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class ArchiveFormat {
+
+    public static final int MAGIC = 0x45434741;
+    public static final short VERSION = 1;
+    public static final String SUFFIX = ".gen";
+    public static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private ArchiveFormat() {
+    }
+
+    public static Path fileOf(Path folder, int generation) {
+
+        return folder.resolve(generation + SUFFIX);
+    }
+
+    /**
+     * Get generation number from an archive file name.
+     *
+     * @param file
+     * @return generation number, or -1 if not an archive file.
+     */
+    public static int generationOf(Path file) {
+
+        var name = file.getFileName().toString();
+        if (!name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(0, name.length() - SUFFIX.length()));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    static UUID toUUID(String id) {
+
+        return UUID.fromString(id);
+    }
+}
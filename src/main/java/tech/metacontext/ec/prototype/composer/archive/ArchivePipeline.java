@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.archive;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Background archiving on a single thread, in order of submission. At most
+ * capacity tasks are pending; submitting more blocks the caller until one
+ * completes, so that archiving cannot fall behind evolution without bound.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class ArchivePipeline implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Semaphore pending;
+    private final Logger logger;
+    private volatile CompletableFuture<Void> last;
+
+    /**
+     * Constructor.
+     *
+     * @param name of the archiving thread.
+     * @param capacity maximum number of pending tasks.
+     * @param logger for reporting failed tasks.
+     */
+    public ArchivePipeline(String name, int capacity, Logger logger) {
+
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            var thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pending = new Semaphore(capacity);
+        this.logger = logger;
+        this.last = CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Submit a task, blocking while capacity tasks are pending. If interrupted
+     * while waiting, the task is run on the calling thread instead.
+     *
+     * @param task
+     */
+    public void submit(Runnable task) {
+
+        try {
+            pending.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            run(task);
+            return;
+        }
+        try {
+            last = CompletableFuture.runAsync(() -> {
+                try {
+                    run(task);
+                } finally {
+                    pending.release();
+                }
+            }, executor);
+        } catch (RuntimeException ex) {
+            pending.release();
+            throw ex;
+        }
+    }
+
+    private void run(Runnable task) {
+
+        try {
+            task.run();
+        } catch (RuntimeException ex) {
+            logger.log(Level.SEVERE, "Archiving task failed: {0}", ex.toString());
+        }
+    }
+
+    /**
+     * Wait until all submitted tasks are completed.
+     */
+    public void flush() {
+
+        try {
+            last.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            logger.log(Level.SEVERE, "Archiving task failed: {0}", ex.getCause().toString());
+        }
+    }
+
+    /**
+     * Complete all submitted tasks and stop the archiving thread.
+     */
+    @Override
+    public void close() {
+
+        flush();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.archive;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import tech.metacontext.ec.prototype.composer.enums.MaterialType;
+import tech.metacontext.ec.prototype.composer.enums.TransformType;
+import tech.metacontext.ec.prototype.composer.model.*;
+import tech.metacontext.ec.prototype.composer.styles.Style;
+
+/**
+ * Immutable capture of a generation for archiving: ids, rendered nodes,
+ * transform types and scores of every composition. Rendered nodes are shared
+ * with the live compositions, as nodes are not modified once rendered; all
+ * other data is copied, so that the generation can be archived while
+ * evolution goes on.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public final class GenerationSnapshot {
+
+    private final int generation;
+    private final List<Style> styles;
+    private final List<Entry> entries;
+
+    /**
+     * Capture compositions as specified generation. Compositions are expected
+     * to be rendered and rated.
+     *
+     * @param generation
+     * @param compositions
+     * @param styles in the order scores are captured.
+     * @return the snapshot.
+     */
+    public static GenerationSnapshot of(int generation,
+            List<Composition> compositions, List<? extends Style> styles) {
+
+        return new GenerationSnapshot(generation, List.copyOf(styles),
+                compositions.stream()
+                        .map(c -> new Entry(c, styles))
+                        .collect(Collectors.toUnmodifiableList()));
+    }
+
+    private GenerationSnapshot(int generation, List<Style> styles,
+            List<Entry> entries) {
+
+        this.generation = generation;
+        this.styles = styles;
+        this.entries = entries;
+    }
+
+    /**
+     * Restore archived compositions, rendered and rated, sharing the captured
+     * nodes.
+     *
+     * @param composer owner of the compositions, with the styles captured.
+     * @return the compositions.
+     */
+    public List<Composition> restore(Composer composer) {
+
+        return entries.stream()
+                .map(e -> {
+                    var connectors = new ArrayList<Connector>(e.connectorIds.size());
+                    for (int i = 0; i < e.connectorIds.size(); i++) {
+                        var conn = new Connector(e.connectorIds.get(i));
+                        e.transformTypes.get(i).forEach(conn::addTransformType);
+                        connectors.add(conn);
+                    }
+                    return restore(composer, e.id, e.rendered, connectors, e.scores);
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static Composition restore(Composer composer, String id,
+            List<SketchNode> rendered, List<Connector> connectors,
+            double[] scores) {
+
+        var c = new Composition(composer, id);
+        for (int i = 0; i < connectors.size(); i++) {
+            var conn = connectors.get(i);
+            conn.setPrevious(rendered.get(i));
+            conn.setNext(rendered.get(i + 1));
+            c.addConnector(conn);
+        }
+        c.setSeed(rendered.get(0));
+        c.inheritRendered(rendered);
+        var styles = composer.getStyles();
+        for (int s = 0; s < styles.size(); s++) {
+            c.getEval().getScores().put(styles.get(s), scores[s]);
+        }
+        c.getEval().setVersion(c.getVersion());
+        return c;
+    }
+
+    public int getGeneration() {
+
+        return generation;
+    }
+
+    public List<Style> getStyles() {
+
+        return styles;
+    }
+
+    public List<Entry> getEntries() {
+
+        return entries;
+    }
+
+    /**
+     * Captured data of a composition.
+     */
+    public static final class Entry {
+
+        private final String id;
+        private final List<SketchNode> rendered;
+        private final List<String> connectorIds;
+        private final List<Map<MaterialType, TransformType>> transformTypes;
+        private final double[] scores;
+
+        private Entry(Composition c, List<? extends Style> styles) {
+
+            this.id = c.getId();
+            this.rendered = c.getRendered();
+            var connectors = c.getConnectors();
+            this.connectorIds = connectors.stream()
+                    .map(Connector::getId)
+                    .collect(Collectors.toUnmodifiableList());
+            this.transformTypes = connectors.stream()
+                    .map(conn -> conn.getTransformTypes().isEmpty()
+                    ? new EnumMap<MaterialType, TransformType>(MaterialType.class)
+                    : new EnumMap<>(conn.getTransformTypes()))
+                    .collect(Collectors.toUnmodifiableList());
+            this.scores = styles.stream()
+                    .mapToDouble(c::getScore)
+                    .toArray();
+        }
+
+        public String getId() {
+
+            return id;
+        }
+
+        public List<SketchNode> getRendered() {
+
+            return rendered;
+        }
+
+        public int getConnectorCount() {
+
+            return connectorIds.size();
+        }
+
+        public String getConnectorId(int i) {
+
+            return connectorIds.get(i);
+        }
+
+        public TransformType getTransformType(int i, MaterialType mt) {
+
+            return transformTypes.get(i).get(mt);
+        }
+
+        public double getScore(int style) {
+
+            return scores[style];
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.UUID;
+import tech.metacontext.ec.prototype.composer.enums.ComposerAim;
+import tech.metacontext.ec.prototype.composer.enums.MaterialType;
+import tech.metacontext.ec.prototype.composer.enums.TransformType;
+import tech.metacontext.ec.prototype.composer.materials.MaterialCodec;
+import tech.metacontext.ec.prototype.composer.model.*;
+import static tech.metacontext.ec.prototype.composer.archive.ArchiveFormat.*;
+
+/**
+ * Read-only view of a memory-mapped generation archive file. Ids, sizes and
+ * scores are read directly from their columns; a Composition is decoded only
+ * when requested, located by the offset column.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class GenerationView {
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int generation;
+    private final int count;
+    private final List<String> styleNames;
+    private final int ids, sizes, scores, offsets;
+
+    /**
+     * Map a generation archive file.
+     *
+     * @param file
+     * @return the view.
+     * @throws IOException if the file cannot be mapped or is not a generation
+     * archive.
+     */
+    public static GenerationView map(Path file) throws IOException {
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new GenerationView(file,
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private GenerationView(Path file, ByteBuffer buffer) throws IOException {
+
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.limit() < TRAILER_SIZE
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(buffer.limit() - Integer.BYTES) != MAGIC) {
+            throw new IOException("Not a generation archive: " + file);
+        }
+        var header = buffer.duplicate();
+        header.getInt();
+        if (header.getShort() != VERSION) {
+            throw new IOException("Unsupported archive version: " + file);
+        }
+        this.generation = header.getInt();
+        this.count = header.getInt();
+        int styleCount = header.get();
+        this.styleNames = new ArrayList<>(styleCount);
+        for (int s = 0; s < styleCount; s++) {
+            var bytes = new byte[Short.toUnsignedInt(header.getShort())];
+            header.get(bytes);
+            styleNames.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        if (header.get() != MaterialType.values().length) {
+            throw new IOException("MaterialTypes mismatched: " + file);
+        }
+        this.ids = (int) buffer.getLong(buffer.limit() - TRAILER_SIZE);
+        this.sizes = ids + count * 2 * Long.BYTES;
+        this.scores = sizes + count * Integer.BYTES;
+        this.offsets = scores + count * styleCount * Double.BYTES;
+    }
+
+    public int size() {
+
+        return count;
+    }
+
+    public int getGeneration() {
+
+        return generation;
+    }
+
+    public List<String> getStyleNames() {
+
+        return List.copyOf(styleNames);
+    }
+
+    public String getId(int i) {
+
+        int at = ids + i * 2 * Long.BYTES;
+        return new UUID(buffer.getLong(at), buffer.getLong(at + Long.BYTES)).toString();
+    }
+
+    /**
+     * Number of rendered nodes of a composition, i.e. its number of connectors
+     * plus one.
+     *
+     * @param i index of composition.
+     * @return number of nodes.
+     */
+    public int getNodeCount(int i) {
+
+        return buffer.getInt(sizes + i * Integer.BYTES);
+    }
+
+    public double getScore(int i, int style) {
+
+        return buffer.getDouble(scores
+                + (i * styleNames.size() + style) * Double.BYTES);
+    }
+
+    public double[] getScores(int i) {
+
+        var result = new double[styleNames.size()];
+        for (int s = 0; s < result.length; s++) {
+            result[s] = getScore(i, s);
+        }
+        return result;
+    }
+
+    /**
+     * Minimum score of a composition as Composer::getMinScore, 0.0 if not
+     * completed.
+     *
+     * @param i index of composition.
+     * @param aim
+     * @return the minimum score.
+     */
+    public double getMinScore(int i, ComposerAim aim) {
+
+        if (!aim.isCompleted(getNodeCount(i) - 1)) {
+            return 0.0;
+        }
+        double min = Double.MAX_VALUE;
+        for (int s = 0; s < styleNames.size(); s++) {
+            min = Math.min(min, getScore(i, s));
+        }
+        return min;
+    }
+
+    public double[] getMinScores(ComposerAim aim) {
+
+        var result = new double[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = getMinScore(i, aim);
+        }
+        return result;
+    }
+
+    /**
+     * Decode a composition.
+     *
+     * @param i index of composition.
+     * @param composer owner of the composition, with the styles the archive
+     * was written with.
+     * @return rendered and rated composition.
+     */
+    public Composition getComposition(int i, Composer composer) {
+
+        var in = buffer.duplicate();
+        in.position((int) buffer.getLong(offsets + i * Long.BYTES));
+        var c = readBody(in, composer, getId(i));
+        var styles = composer.getStyles();
+        for (int s = 0; s < styles.size(); s++) {
+            c.getEval().getScores().put(styles.get(s), getScore(i, s));
+        }
+        c.getEval().setVersion(c.getVersion());
+        return c;
+    }
+
+    /**
+     * Get compositions as a list decoding each one on first access.
+     *
+     * @param composer owner of the compositions, with the styles the archive
+     * was written with.
+     * @return the lazy list.
+     * @throws IOException if the styles of the composer mismatch.
+     */
+    public List<Composition> asList(Composer composer) throws IOException {
+
+        checkStyles(composer);
+        return new LazyList(composer);
+    }
+
+    public List<Composition> getCompositions(Composer composer) throws IOException {
+
+        checkStyles(composer);
+        var result = new ArrayList<Composition>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(getComposition(i, composer));
+        }
+        return result;
+    }
+
+    private void checkStyles(Composer composer) throws IOException {
+
+        var styles = composer.getStyles();
+        if (styles.size() != styleNames.size()) {
+            throw new IOException("Styles mismatched: " + file);
+        }
+        for (int s = 0; s < styles.size(); s++) {
+            if (!styleNames.get(s).equals(styles.get(s).getClass().getSimpleName())) {
+                throw new IOException("Style " + styleNames.get(s)
+                        + " mismatched: " + file);
+            }
+        }
+    }
+
+    private static Composition readBody(ByteBuffer in, Composer composer, String id) {
+
+        var c = new Composition(composer, id);
+        var nodes = new ArrayList<SketchNode>();
+        var seed = readNode(in);
+        nodes.add(seed);
+        int size = in.getInt();
+        var previous = seed;
+        for (int i = 0; i < size; i++) {
+            var conn = new Connector(readId(in));
+            for (var mt : MaterialType.values()) {
+                int tt = in.get();
+                if (tt >= 0) {
+                    conn.addTransformType(mt, TransformType.values()[tt]);
+                }
+            }
+            var next = readNode(in);
+            conn.setPrevious(previous);
+            conn.setNext(next);
+            c.addConnector(conn);
+            nodes.add(next);
+            previous = next;
+        }
+        c.setSeed(seed);
+        c.inheritRendered(nodes);
+        return c;
+    }
+
+    private static SketchNode readNode(ByteBuffer in) {
+
+        return new SketchNode(readId(in), mt -> MaterialCodec.read(in, mt));
+    }
+
+    private static String readId(ByteBuffer in) {
+
+        return new UUID(in.getLong(), in.getLong()).toString();
+    }
+
+    private class LazyList extends AbstractList<Composition> implements RandomAccess {
+
+        private final Composer composer;
+        private final Composition[] decoded = new Composition[count];
+
+        LazyList(Composer composer) {
+            this.composer = composer;
+        }
+
+        @Override
+        public Composition get(int i) {
+
+            if (decoded[i] == null) {
+                decoded[i] = getComposition(i, composer);
+            }
+            return decoded[i];
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
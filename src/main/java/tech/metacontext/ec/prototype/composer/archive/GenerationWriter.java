@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.UUID;
+import tech.metacontext.ec.prototype.composer.enums.MaterialType;
+import tech.metacontext.ec.prototype.composer.materials.MaterialCodec;
+import tech.metacontext.ec.prototype.composer.model.*;
+import tech.metacontext.ec.prototype.composer.styles.Style;
+import static tech.metacontext.ec.prototype.composer.archive.ArchiveFormat.*;
+
+/**
+ * Write a generation of compositions into one archive file, sequentially
+ * through a buffer. The file is written under a temporary name and renamed
+ * when complete, so that a generation file is either whole or absent.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class GenerationWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private GenerationWriter() {
+    }
+
+    /**
+     * Write compositions as specified generation. Compositions are expected to
+     * be rendered and rated.
+     *
+     * @param folder
+     * @param generation
+     * @param compositions
+     * @param styles in the order scores are written.
+     * @return the archive file.
+     * @throws IOException
+     */
+    public static Path write(Path folder, int generation,
+            List<Composition> compositions, List<? extends Style> styles)
+            throws IOException {
+
+        return write(folder, GenerationSnapshot.of(generation, compositions, styles));
+    }
+
+    /**
+     * Write a captured generation.
+     *
+     * @param folder
+     * @param snapshot
+     * @return the archive file.
+     * @throws IOException
+     */
+    public static Path write(Path folder, GenerationSnapshot snapshot)
+            throws IOException {
+
+        var entries = snapshot.getEntries();
+        var styles = snapshot.getStyles();
+        Files.createDirectories(folder);
+        var file = fileOf(folder, snapshot.getGeneration());
+        var temp = folder.resolve(file.getFileName() + ".tmp");
+        try (var out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temp), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(snapshot.getGeneration());
+            out.writeInt(entries.size());
+            out.writeByte(styles.size());
+            for (var style : styles) {
+                out.writeUTF(style.getClass().getSimpleName());
+            }
+            out.writeByte(MaterialType.values().length);
+            var offsets = new long[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                offsets[i] = out.size();
+                writeBody(out, entries.get(i));
+            }
+            long columns = out.size();
+            for (var e : entries) {
+                writeId(out, e.getId());
+            }
+            for (var e : entries) {
+                out.writeInt(e.getRendered().size());
+            }
+            for (var e : entries) {
+                for (int s = 0; s < styles.size(); s++) {
+                    out.writeDouble(e.getScore(s));
+                }
+            }
+            for (long offset : offsets) {
+                out.writeLong(offset);
+            }
+            out.writeLong(columns);
+            out.writeInt(MAGIC);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+
+    private static void writeBody(DataOutputStream out,
+            GenerationSnapshot.Entry e) throws IOException {
+
+        var rendered = e.getRendered();
+        writeNode(out, rendered.get(0));
+        out.writeInt(e.getConnectorCount());
+        for (int i = 0; i < e.getConnectorCount(); i++) {
+            writeId(out, e.getConnectorId(i));
+            for (var mt : MaterialType.values()) {
+                var tt = e.getTransformType(i, mt);
+                out.writeByte(tt == null ? -1 : tt.ordinal());
+            }
+            writeNode(out, rendered.get(i + 1));
+        }
+    }
+
+    private static void writeNode(DataOutputStream out, SketchNode node)
+            throws IOException {
+
+        writeId(out, node.getId());
+        for (var mt : MaterialType.values()) {
+            MaterialCodec.write(out, node.getMat(mt));
+        }
+    }
+
+    private static void writeId(DataOutputStream out, String id)
+            throws IOException {
+
+        UUID uuid = toUUID(id);
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+}
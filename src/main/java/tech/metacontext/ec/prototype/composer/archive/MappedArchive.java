@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import tech.metacontext.ec.prototype.composer.enums.ComposerAim;
+
+/**
+ * Archive of a run, one memory-mapped GenerationView per generation file.
+ * Files are mapped on first access, so that analysis over a long run touches
+ * only the generations and columns it reads.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class MappedArchive {
+
+    private final List<Path> files;
+    private final GenerationView[] views;
+
+    /**
+     * Open the generation archive files in a folder.
+     *
+     * @param folder
+     * @return the archive, empty if there is no generation archive file.
+     * @throws IOException
+     */
+    public static MappedArchive open(Path folder) throws IOException {
+
+        return new MappedArchive(list(folder));
+    }
+
+    /**
+     * List archive files in a folder in order of generation.
+     *
+     * @param folder
+     * @return archive files, empty if none or the folder does not exist.
+     * @throws IOException
+     */
+    public static List<Path> list(Path folder) throws IOException {
+
+        if (!Files.isDirectory(folder)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.filter(f -> generationOf(f) >= 0)
+                    .sorted(Comparator.comparingInt(MappedArchive::generationOf))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static int generationOf(Path file) {
+
+        return ArchiveFormat.generationOf(file);
+    }
+
+    private MappedArchive(List<Path> files) {
+
+        this.files = files;
+        this.views = new GenerationView[files.size()];
+    }
+
+    /**
+     * Number of archived generations.
+     *
+     * @return
+     */
+    public int size() {
+
+        return files.size();
+    }
+
+    public boolean isEmpty() {
+
+        return files.isEmpty();
+    }
+
+    /**
+     * Get the view of a generation, mapping its file on first access.
+     *
+     * @param i index of generation in archived order.
+     * @return the view.
+     * @throws UncheckedIOException if the file cannot be mapped.
+     */
+    public synchronized GenerationView getGeneration(int i) {
+
+        if (views[i] == null) {
+            try {
+                views[i] = GenerationView.map(files.get(i));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return views[i];
+    }
+
+    public double[] getMinScores(int i, ComposerAim aim) {
+
+        return getGeneration(i).getMinScores(aim);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.archive;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Per-generation minimum scores, size histograms and conservation events of a
+ * run, kept in primitive arrays. It is all the charts of a Composer need, at
+ * a small fraction of the memory of archived Compositions.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class ScoreArchive implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final double[] NO_SCORES = new double[0];
+    private static final int[] NO_SIZES = new int[0];
+
+    private double[][] minScores = new double[16][];
+    /**
+     * For each generation, number of individuals indexed by size.
+     */
+    private int[][] sizeHistograms = new int[16][];
+    private int generations;
+
+    private int[] conservedGenerations = new int[16];
+    private double[] conservedScores = new double[16];
+    private int conserved;
+
+    /**
+     * Record a generation.
+     *
+     * @param generation
+     * @param minScores minimum score of each individual.
+     * @param sizes size of each individual.
+     */
+    public synchronized void record(int generation, double[] minScores, int[] sizes) {
+
+        if (generation >= this.minScores.length) {
+            int capacity = Math.max(generation + 1, this.minScores.length * 2);
+            this.minScores = Arrays.copyOf(this.minScores, capacity);
+            this.sizeHistograms = Arrays.copyOf(this.sizeHistograms, capacity);
+        }
+        var histogram = new int[IntStream.of(sizes).max().orElse(-1) + 1];
+        for (int size : sizes) {
+            histogram[size]++;
+        }
+        this.minScores[generation] = minScores.clone();
+        this.sizeHistograms[generation] = histogram;
+        this.generations = Math.max(this.generations, generation + 1);
+    }
+
+    /**
+     * Record a conservation event.
+     *
+     * @param generation in which the individual is conserved.
+     * @param score minimum score of the individual.
+     */
+    public synchronized void recordConserved(int generation, double score) {
+
+        if (conserved == conservedScores.length) {
+            conservedGenerations = Arrays.copyOf(conservedGenerations, conserved * 2);
+            conservedScores = Arrays.copyOf(conservedScores, conserved * 2);
+        }
+        conservedGenerations[conserved] = generation;
+        conservedScores[conserved] = score;
+        conserved++;
+    }
+
+    /**
+     * Get number of generations recorded.
+     *
+     * @return number of generations.
+     */
+    public synchronized int size() {
+
+        return generations;
+    }
+
+    public synchronized boolean isEmpty() {
+
+        return generations == 0 && conserved == 0;
+    }
+
+    public synchronized double[] getMinScores(int generation) {
+
+        var scores = minScores[generation];
+        return scores == null ? NO_SCORES : scores.clone();
+    }
+
+    public synchronized int[] getSizeHistogram(int generation) {
+
+        var histogram = sizeHistograms[generation];
+        return histogram == null ? NO_SIZES : histogram.clone();
+    }
+
+    /**
+     * Summarize sizes of a generation, as Composer::getSummary does.
+     *
+     * @param generation
+     * @return the summary.
+     */
+    public String getSummary(int generation) {
+
+        var histogram = getSizeHistogram(generation);
+        return IntStream.range(0, histogram.length)
+                .filter(size -> histogram[size] > 0)
+                .mapToObj(size -> String.format("%2d x %2d", size, histogram[size]))
+                .collect(Collectors.joining(", "));
+    }
+
+    public synchronized int getConservedCount() {
+
+        return conserved;
+    }
+
+    public synchronized int getConservedGeneration(int i) {
+
+        return conservedGenerations[i];
+    }
+
+    public synchronized double getConservedScore(int i) {
+
+        return conservedScores[i];
+    }
+
+    /**
+     * Get scores of individuals conserved in a generation.
+     *
+     * @param generation
+     * @return minimum scores in order of conservation.
+     */
+    public synchronized double[] getConservedScores(int generation) {
+
+        return IntStream.range(0, conserved)
+                .filter(i -> conservedGenerations[i] == generation)
+                .mapToDouble(i -> conservedScores[i])
+                .toArray();
+    }
+}
@@ -37,7 +37,19 @@ public enum ComposerAim implements Serializable {
 
     public boolean isCompleted(Composition composition) {
 
-        return composition.getConnectors().size() >= this.aimSize;
+        return this.isCompleted(composition.getConnectors().size());
+    }
+
+    /**
+     * Whether a composition with specified number of connectors is completed,
+     * for compositions known by size only, such as archived ones.
+     *
+     * @param connectors number of connectors.
+     * @return true if completed.
+     */
+    public boolean isCompleted(int connectors) {
+
+        return connectors >= this.aimSize;
     }
 
     /*
@@ -15,6 +15,7 @@
  */
 package tech.metacontext.ec.prototype.composer.enums;
 
+import tech.metacontext.ec.prototype.abs.SplitRandom;
 import static tech.metacontext.ec.prototype.composer.Parameters.*;
 
 /**
@@ -27,7 +28,7 @@ public enum ConnectingState {
 
     public static ConnectingState getRandom() {
 
-        return Math.random() < CHANCE_TOTAL_CONNECTING_STATE.getDouble()
+        return SplitRandom.current().nextDouble() < CHANCE_TOTAL_CONNECTING_STATE.getDouble()
                 ? ConnectingState.Total : ConnectingState.ByItem;
     }
 
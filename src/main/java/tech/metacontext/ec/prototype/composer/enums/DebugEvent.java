@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.enums;
+
+/**
+ * Events recorded in the debug trail of a Composition.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public enum DebugEvent {
+    Initialized("Initilization completed."),
+    Populated("Initialization..."),
+    ConservationCheck("under conservation check."),
+    ConservationFailed("fail conservation check"),
+    ConservationPassed("pass conservation check"),
+    Archived("forArchiving: been checked/rendered."),
+    Mutated("forMutation: been checked/rendered.");
+
+    private final String message;
+
+    DebugEvent(String message) {
+
+        this.message = message;
+    }
+
+    /*
+     * Default getter.
+     */
+    public String getMessage() {
+        return message;
+    }
+}
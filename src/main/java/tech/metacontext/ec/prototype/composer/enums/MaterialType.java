@@ -17,7 +17,8 @@ package tech.metacontext.ec.prototype.composer.enums;
 
 import java.io.Serializable;
 import java.util.function.Consumer;
-import tech.metacontext.ec.prototype.composer.ex.InstantiationFailedException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import tech.metacontext.ec.prototype.composer.materials.*;
 
 /**
@@ -26,38 +27,108 @@ import tech.metacontext.ec.prototype.composer.materials.*;
  */
 public enum MaterialType implements Serializable{
 
-    DYNAMICS(Dynamics.class),
-    PITCH_SETS(PitchSets.class),
-    RHYTHMIC_POINTS(RhythmicPoints.class),
-    NOTE_RANGES(NoteRanges.class);
+    DYNAMICS(Dynamics.class, Dynamics::new),
+    PITCH_SETS(PitchSets.class, PitchSets::new),
+    RHYTHMIC_POINTS(RhythmicPoints.class, RhythmicPoints::new),
+    NOTE_RANGES(NoteRanges.class, NoteRanges::new);
 
-    Class<? extends MusicMaterial> clazz;
+    private final Class<? extends MusicMaterial> base;
+    private volatile Implementation implementation;
 
-    MaterialType(Class<? extends MusicMaterial> clazz) {
-        this.clazz = clazz;
+    MaterialType(Class<? extends MusicMaterial> clazz,
+            Supplier<? extends MusicMaterial> constructor) {
+
+        this.base = clazz;
+        this.implementation = new Implementation(clazz, constructor, mm -> mm);
     }
 
-    public MusicMaterial getInstance() {
+    /**
+     * Select the implementation to be instantiated for this MaterialType, for
+     * eg. a packed variant for production runs. It must be a subclass of the
+     * default implementation so that existing casts remain valid.
+     *
+     * @param <M>
+     * @param clazz implementation class.
+     * @param constructor constructing an instance with default parameters,
+     * open for parameters to be set before materials are generated.
+     * @param converter converting an instance of the default implementation,
+     * typically through the copy constructor.
+     */
+    public <M extends MusicMaterial> void setImplementation(Class<M> clazz,
+            Supplier<M> constructor, Function<MusicMaterial, M> converter) {
 
-        try {
-            return this.clazz.getDeclaredConstructor()
-                    .newInstance();
-        } catch (Exception ex) {
-            System.out.println(this);
-            throw new InstantiationFailedException(ex.getMessage());
+        if (!this.base.isAssignableFrom(clazz)) {
+            throw new IllegalArgumentException(clazz.getSimpleName()
+                    + " is not a subclass of " + this.base.getSimpleName());
         }
+        this.implementation = new Implementation(clazz, constructor,
+                converter::apply);
+    }
+
+    public Class<? extends MusicMaterial> getImplementation() {
+
+        return this.implementation.clazz;
     }
 
-    public <M extends MusicMaterial> M getInstance(Consumer<M> init) {
+    /**
+     * Get a material generated with default parameters.
+     *
+     * @return the material, sealed.
+     */
+    public MusicMaterial getInstance() {
+
+        return this.implementation.constructor.get().generate();
+    }
+
+    /**
+     * Get a material generated with randomized parameters.
+     *
+     * @return the material, sealed.
+     */
+    public MusicMaterial getRandomInstance() {
+
+        return this.implementation.constructor.get().random();
+    }
+
+    /**
+     * Get a material generated with parameters set by an initializer.
+     *
+     * @param <M>
+     * @param init setting parameters of the material before it is generated.
+     * @return the material, sealed.
+     */
+    public <M extends MusicMaterial> M getInstance(Consumer<? super M> init) {
+
+        M instance = (M) this.implementation.constructor.get();
+        init.accept(instance);
+        return (M) instance.generate();
+    }
+
+    /**
+     * Convert a material of this MaterialType into the selected
+     * implementation.
+     *
+     * @param mm
+     * @return mm itself if already of the selected implementation.
+     */
+    public MusicMaterial convert(MusicMaterial mm) {
+
+        var impl = this.implementation;
+        return (impl.clazz == mm.getClass()) ? mm : impl.converter.apply(mm);
+    }
+
+    private static class Implementation {
+
+        final Class<? extends MusicMaterial> clazz;
+        final Supplier<? extends MusicMaterial> constructor;
+        final Function<MusicMaterial, ? extends MusicMaterial> converter;
 
-        try {
-            M instance = (M) this.clazz.getDeclaredConstructor()
-                    .newInstance();
-            init.accept(instance);
-            return (M) instance.generate();
-        } catch (Exception ex) {
-            System.out.println(this);
-            throw new InstantiationFailedException(ex.getMessage());
+        Implementation(Class<? extends MusicMaterial> clazz,
+                Supplier<? extends MusicMaterial> constructor,
+                Function<MusicMaterial, ? extends MusicMaterial> converter) {
+            this.clazz = clazz;
+            this.constructor = constructor;
+            this.converter = converter;
         }
     }
 }
@@ -15,7 +15,7 @@
  */
 package tech.metacontext.ec.prototype.composer.enums;
 
-import java.util.Random;
+import tech.metacontext.ec.prototype.abs.SplitRandom;
 import static tech.metacontext.ec.prototype.composer.Parameters.*;
 
 /**
@@ -39,9 +39,9 @@ public enum TransformType {
 
     public static TransformType getRandom() {
 
-        return new Random().ints(0, values().length)
+        return SplitRandom.current().ints(0, values().length)
                 .mapToObj(i -> values()[i])
-                .filter(tt -> Math.random() < tt.weighting)
+                .filter(tt -> SplitRandom.current().nextDouble() < tt.weighting)
                 .findFirst().get();
     }
 
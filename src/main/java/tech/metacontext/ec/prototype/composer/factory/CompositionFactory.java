@@ -20,11 +20,11 @@ import tech.metacontext.ec.prototype.composer.Settings;
 import tech.metacontext.ec.prototype.composer.model.*;
 import tech.metacontext.ec.prototype.composer.styles.*;
 import tech.metacontext.ec.prototype.composer.enums.ComposerAim;
+import tech.metacontext.ec.prototype.composer.enums.DebugEvent;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *
@@ -33,8 +33,7 @@ import java.util.stream.Collectors;
 public class CompositionFactory implements Factory<Composition> {
 
     private static final ConnectorFactory connectorFactory = ConnectorFactory.getInstance();
-    private static final SketchNodeFactory sketchNodeFactory = SketchNodeFactory.getInstance();
-    private static final Map<String, CompositionFactory> instances = new HashMap<>();
+    private static final Map<String, CompositionFactory> instances = new ConcurrentHashMap<>();
     private final Composer composer;
 
     public static void main(String[] args) throws Exception {
@@ -62,10 +61,9 @@ public class CompositionFactory implements Factory<Composition> {
 
     public static CompositionFactory getInstance(Composer composer) {
 
-        if (Objects.isNull(instances.get(composer.getId()))) {
-            instances.put(composer.getId(), new CompositionFactory(composer));
-        }
-        return instances.get(composer.getId());
+        return instances.compute(composer.getId(),
+                (id, instance) -> Objects.nonNull(instance) && instance.composer == composer
+                ? instance : new CompositionFactory(composer));
     }
 
     public Composition newInstance() {
@@ -86,15 +84,14 @@ public class CompositionFactory implements Factory<Composition> {
     @Override
     public Composition forArchiving(Composition origin) {
 
-        origin.addDebugMsg("forArchiving: "
-                + origin.getId_prefix() + " been checked/rendered.");
+        origin.addDebugEvent(DebugEvent.Archived);
         origin.getRenderedChecked(this.getClass().getSimpleName() + "::forArchiving");
         Composition dupe = new Composition(this.composer, origin.getId());
-        dupe.getRendered().addAll(origin.getRendered());
-        dupe.getConnectors().addAll(origin.getConnectors().stream()
+        origin.getConnectors().stream()
                 .map(connectorFactory::forArchiving)
-                .collect(Collectors.toList()));
+                .forEach(dupe::addConnector);
         dupe.resetSeed(dupe.getConnectors().get(0).getPrevious());
+        dupe.inheritRendered(origin.getRendered());
         dupe.getRenderedChecked("Composition::resetSeed");
         dupe.updateEval();
         assert origin.getEval().equals(dupe.getEval()) :
@@ -103,21 +100,20 @@ public class CompositionFactory implements Factory<Composition> {
     }
 
     /**
-     * Create Composition instance for mutation, with all connector duplicated
-     * with their previous nodes.
+     * Create Composition instance for mutation, sharing connectors and nodes
+     * rendered by origin, so that only the part changed by mutation is
+     * duplicated and rendered again.
      *
      * @param origin
      * @return Composition instance ready for mutation.
      */
     public Composition forMutation(Composition origin) {
 
-        origin.addDebugMsg("forMutation: "
-                + origin.getId_prefix() + "been checked/rendered.");
+        origin.addDebugEvent(DebugEvent.Mutated);
         Composition dupe = new Composition(this.composer);
-        dupe.getConnectors().addAll(origin.getConnectors().stream()
-                .map(connectorFactory::forMutation)
-                .collect(Collectors.toList()));
-        dupe.resetSeed(sketchNodeFactory.forMutation(origin.getSeed()));
+        origin.getConnectors().forEach(dupe::addSharedConnector);
+        dupe.resetSeed(origin.getSeed());
+        dupe.inheritRendered(origin.getRendered());
         return dupe;
     }
 
@@ -28,19 +28,14 @@ import java.util.stream.Stream;
  */
 public class ConnectorFactory {
 
-    private static SketchNodeFactory sketchNodeFactory;
-    private static ConnectorFactory instance;
+    private static final SketchNodeFactory sketchNodeFactory = SketchNodeFactory.getInstance();
+    private static final ConnectorFactory instance = new ConnectorFactory();
 
     private ConnectorFactory() {
-
-        sketchNodeFactory = SketchNodeFactory.getInstance();
     }
 
     public static ConnectorFactory getInstance() {
 
-        if (instance == null) {
-            instance = new ConnectorFactory();
-        }
         return instance;
     }
 
@@ -69,19 +64,42 @@ public class ConnectorFactory {
         return conn;
     }
 
+    /**
+     * Duplicate a connector for another composition, sharing its previous
+     * node, which is not modified once rendered. The next node is left to be
+     * rendered.
+     *
+     * @param conn
+     * @return the duplicated connector.
+     */
     public Connector forMutation(Connector conn) {
 
         Connector dupe = new Connector();
-        dupe.getTransformTypes().putAll(conn.getTransformTypes());
-        dupe.setPrevious(Objects.isNull(conn.getPrevious())
-                ? null : sketchNodeFactory.forMutation(conn.getPrevious()));
+        dupe.copyTransformTypes(conn);
+        dupe.setPrevious(conn.getPrevious());
+        return dupe;
+    }
+
+    /**
+     * Duplicate a connector sharing its previous and next nodes, which are not
+     * modified once rendered.
+     *
+     * @param conn
+     * @return the duplicated connector.
+     */
+    public Connector forInheritance(Connector conn) {
+
+        Connector dupe = new Connector();
+        dupe.copyTransformTypes(conn);
+        dupe.setPrevious(conn.getPrevious());
+        dupe.setNext(conn.getNext());
         return dupe;
     }
 
     public Connector forArchiving(Connector conn) {
 
         Connector dupe = new Connector(conn.getId());
-        dupe.getTransformTypes().putAll(conn.getTransformTypes());
+        dupe.copyTransformTypes(conn);
         dupe.setPrevious(Objects.isNull(conn.getPrevious())
                 ? null : sketchNodeFactory.forArchiving(conn.getPrevious()));
         dupe.setNext(Objects.isNull(conn.getNext())
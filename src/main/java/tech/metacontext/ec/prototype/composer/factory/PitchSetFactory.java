@@ -21,7 +21,7 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
+import tech.metacontext.ec.prototype.abs.SplitRandom;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -63,7 +63,7 @@ public class PitchSetFactory {
 
     public void randomize() {
 
-        this.pitchNumber = new Random().nextInt(
+        this.pitchNumber = SplitRandom.current().nextInt(
                 this.maxPitchNumber - this.minPitchNumber + 1) + this.minPitchNumber;
         this.sharpAllowed = (DEFAULT_SHARP_ALLOWED == ALLOWED);
         this.enharmonicAllowed = (DEFAULT_ENHARMONIC_ALLOWED == ALLOWED);
@@ -72,22 +72,32 @@ public class PitchSetFactory {
 
     public List<Pitch> generate() {
 
+        return generate(this.presetPitches, this.minPitchNumber);
+    }
+
+    /**
+     * Generate a pitch set without changing the state of this factory.
+     *
+     * @param preset pitches to be kept.
+     * @param minPitchNumber
+     * @return the pitch set.
+     */
+    public List<Pitch> generate(Set<Pitch> preset, int minPitchNumber) {
+
         List<Pitch> ps = new ArrayList<>();
         //若不允許升記號則將preset中的升記號以降記號取代
-        if (!this.sharpAllowed && !presetPitches.isEmpty()) {
-            this.setPresetPitches(
-                    this.presetPitches.stream()
-                            .map(pitch -> Pitch.values()[pitch.ordinalEnharmonic()])
-                            .collect(Collectors.toSet()));
-        }
+        var kept = (this.sharpAllowed || preset.isEmpty()) ? preset
+                : preset.stream()
+                        .map(pitch -> Pitch.values()[pitch.ordinalEnharmonic()])
+                        .collect(Collectors.toSet());
         ps.addAll(Stream.of(Pitch.values())
                 .limit(this.sharpAllowed ? 17 : 12)
-                .map(p -> new AbstractMap.SimpleEntry<>(this.presetPitches.contains(p) ? 0.0 : Math.random(), p))
+                .map(p -> new AbstractMap.SimpleEntry<>(kept.contains(p) ? 0.0 : SplitRandom.current().nextDouble(), p))
                 .sorted((o1, o2) -> o1.getKey().compareTo(o2.getKey()))
                 .map(e -> (this.enharmonicAllowed) ? e.getValue().ordinal() : e.getValue().ordinalEnharmonic())
                 .distinct()
                 .map(i -> Pitch.values()[i])
-                .limit(new Random().nextInt(this.maxPitchNumber - this.minPitchNumber + 1) + this.minPitchNumber)
+                .limit(SplitRandom.current().nextInt(this.maxPitchNumber - minPitchNumber + 1) + minPitchNumber)
                 .collect(Collectors.toList())
         );
         return ps;
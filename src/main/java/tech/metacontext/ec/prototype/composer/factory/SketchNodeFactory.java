@@ -20,11 +20,7 @@ import tech.metacontext.ec.prototype.composer.model.SketchNode;
 import tech.metacontext.ec.prototype.composer.enums.MaterialType;
 import tech.metacontext.ec.prototype.composer.enums.mats.Intensity;
 import tech.metacontext.ec.prototype.composer.materials.*;
-import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  *
@@ -44,66 +40,51 @@ public class SketchNodeFactory implements Factory<SketchNode> {
         }));
     }
 
-    private static SketchNodeFactory instance;
+    private static final SketchNodeFactory instance = new SketchNodeFactory();
 
     private SketchNodeFactory() {
     }
 
     public static SketchNodeFactory getInstance() {
-        if (Objects.isNull(instance)) {
-            instance = new SketchNodeFactory();
-        }
         return instance;
     }
 
+    /**
+     * SketchNodes are immutable, so the origin itself is archived.
+     *
+     * @param origin
+     * @return the origin.
+     */
     @Override
     public SketchNode forArchiving(SketchNode origin) {
 
-        SketchNode node = new SketchNode(origin.getId());
-        node.setMats(origin.getMats().entrySet().stream()
-                .collect(Collectors.toMap(
-                        Entry::getKey,
-                        e -> e.getValue().duplicate())));
-        return node;
+        return origin;
     }
 
+    /**
+     * New SketchNode sharing the materials of origin, which are immutable.
+     *
+     * @param origin
+     * @return the new SketchNode.
+     */
     public SketchNode forMutation(SketchNode origin) {
 
-        SketchNode node = new SketchNode();
-        node.setMats(origin.getMats().entrySet().stream()
-                .collect(Collectors.toMap(
-                        Entry::getKey,
-                        e -> e.getValue().duplicate())));
-        return node;
+        return new SketchNode(origin::getMat);
     }
 
     public SketchNode newRandomInstance() {
 
-        SketchNode newInstance = new SketchNode();
-        newInstance.setMats(Stream.of(MaterialType.values())
-                .collect(Collectors.toMap(
-                        t -> t,
-                        t -> t.getInstance().random())));
-        return newInstance;
+        return new SketchNode(MaterialType::getRandomInstance);
     }
 
     public SketchNode newInstance() {
 
-        SketchNode newInstance = new SketchNode();
-        newInstance.setMats(Stream.of(MaterialType.values())
-                .collect(Collectors.toMap(
-                        t -> t,
-                        t -> t.getInstance())));
-        return newInstance;
+        return new SketchNode(MaterialType::getInstance);
     }
 
     public SketchNode newInstance(Consumer<MusicMaterial> init) {
 
-        SketchNode newInstance = new SketchNode();
-        newInstance.setMats(Stream.of(MaterialType.values())
-                .collect(Collectors.toMap(mt -> mt,
-                        mt -> mt.getInstance(init))));
-        return newInstance;
+        return new SketchNode(mt -> mt.getInstance(init));
     }
 
 }
@@ -16,10 +16,12 @@
 package tech.metacontext.ec.prototype.composer.materials;
 
 import java.io.Serializable;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import tech.metacontext.ec.prototype.abs.SplitRandom;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import static tech.metacontext.ec.prototype.composer.Parameters.*;
 import tech.metacontext.ec.prototype.composer.enums.TransformType;
 import tech.metacontext.ec.prototype.composer.enums.mats.Intensity;
@@ -30,21 +32,32 @@ import tech.metacontext.ec.prototype.composer.enums.mats.Intensity;
  */
 public class Dynamics extends MusicMaterial<Intensity> implements Serializable {
 
+    private static final Intensity[] INTENSITIES = Intensity.values();
+
     private Intensity lowestIntensity;
     private Intensity highestIntensity;
 
     public Dynamics() {
     }
 
+    protected Dynamics(int division, Intensity lowestIntensity,
+            Intensity highestIntensity) {
+
+        super(division);
+        this.lowestIntensity = lowestIntensity;
+        this.highestIntensity = highestIntensity;
+    }
+
     public Dynamics(Consumer<Dynamics> init) {
 
         super();
         init.accept(this);
+        this.generate();
     }
 
     public Dynamics(Dynamics origin) {
 
-        super(origin.getDivision(), origin.getMaterials());
+        super(origin);
         this.lowestIntensity = origin.lowestIntensity;
         this.highestIntensity = origin.highestIntensity;
     }
@@ -69,7 +82,7 @@ public class Dynamics extends MusicMaterial<Intensity> implements Serializable {
     @Override
     public Dynamics generate() {
 
-        this.setMaterials(new Random().ints(this.getDivision(),
+        this.setMaterials(SplitRandom.current().ints(this.getDivision(),
                 this.lowestIntensity.ordinal(),
                 this.highestIntensity.ordinal() + 1)
                 .mapToObj(i -> Intensity.values()[i])
@@ -81,7 +94,7 @@ public class Dynamics extends MusicMaterial<Intensity> implements Serializable {
     @Override
     public Dynamics random() {
 
-        this.setDivision(new Random()
+        this.setDivision(SplitRandom.current()
                 .nextInt(MAX_DIVISION.getInt()
                         - MIN_DIVISION.getInt() + 1)
                 + MIN_DIVISION.getInt());
@@ -93,47 +106,85 @@ public class Dynamics extends MusicMaterial<Intensity> implements Serializable {
 
         switch (type) {
             case Repetition:
-                return new Dynamics(this);
+                return this;
             case Retrograde:
-                return new Dynamics(this).retrograde();
+                return this.derive(reversed(this.getMaterials()));
             case MoveForward:
-                return new Dynamics(this).moveForward();
+                return this.derive(this.moveForward());
             case MoveBackward:
-                return new Dynamics(this).moveBackward();
+                return this.derive(this.moveBackward());
             case Disconnected:
-                return new Dynamics();
+                return new Dynamics().generate();
         }
         return null;
     }
 
-    private Dynamics retrograde() {
+    /**
+     * New instance with the parameters of this one and specified materials,
+     * frozen into the new sealed instance.
+     *
+     * @param materials
+     * @return the new instance.
+     */
+    private Dynamics derive(List<Intensity> materials) {
 
-        this.setMaterials(IntStream.range(0, this.size())
-                .mapToObj(i -> this.getMaterials().get(this.size() - i - 1))
-                .collect(Collectors.toList()));
-        return this;
+        var derived = new Dynamics(this.getDivision(),
+                this.lowestIntensity, this.highestIntensity);
+        derived.setMaterials(materials);
+        return derived;
     }
 
-    private Dynamics moveForward() {
+    private List<Intensity> moveForward() {
 
-        IntStream.range(0, this.size())
-                .forEach(i -> {
-                    int o = Math.min(this.getMaterials().get(i).ordinal() + 1,
-                            this.highestIntensity.ordinal());
-                    this.getMaterials().set(i, Intensity.values()[o]);
-                });
-        return this;
+        var moved = new ArrayList<Intensity>(this.size());
+        int highest = this.highestIntensity.ordinal();
+        for (var mat : this.getMaterials()) {
+            moved.add(INTENSITIES[Math.min(mat.ordinal() + 1, highest)]);
+        }
+        return moved;
     }
 
-    private Dynamics moveBackward() {
+    private List<Intensity> moveBackward() {
 
-        IntStream.range(0, this.size())
-                .forEach(i -> {
-                    int o = Math.max(this.getMaterials().get(i).ordinal() - 1,
-                            this.lowestIntensity.ordinal());
-                    this.getMaterials().set(i, Intensity.values()[o]);
-                });
-        return this;
+        var moved = new ArrayList<Intensity>(this.size());
+        int lowest = this.lowestIntensity.ordinal();
+        for (var mat : this.getMaterials()) {
+            moved.add(INTENSITIES[Math.max(mat.ordinal() - 1, lowest)]);
+        }
+        return moved;
+    }
+
+    /**
+     * Average intensity index of dynamics, scaled from lowest to highest
+     * intensity.
+     *
+     * @return intensity index ranging from 0.0 to 1.0.
+     */
+    public double getAvgIntensityIndex() {
+
+        return this.getAvgIntensityIndex(mat
+                -> Intensity.getIntensityIndex(mat,
+                        this.lowestIntensity, this.highestIntensity));
+    }
+
+    @Override
+    public int hashCode() {
+
+        int hash = super.hashCode();
+        hash = 53 * hash + Objects.hashCode(this.lowestIntensity);
+        hash = 53 * hash + Objects.hashCode(this.highestIntensity);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        if (!super.equals(obj)) {
+            return false;
+        }
+        final Dynamics other = (Dynamics) obj;
+        return this.lowestIntensity == other.lowestIntensity
+                && this.highestIntensity == other.highestIntensity;
     }
 
     @Override
@@ -150,6 +201,7 @@ public class Dynamics extends MusicMaterial<Intensity> implements Serializable {
     }
 
     public void setLowestIntensity(Intensity lowestIntensity) {
+        this.checkOpen();
         this.lowestIntensity = lowestIntensity;
     }
 
@@ -158,6 +210,7 @@ public class Dynamics extends MusicMaterial<Intensity> implements Serializable {
     }
 
     public void setHighestIntensity(Intensity highestIntensity) {
+        this.checkOpen();
         this.highestIntensity = highestIntensity;
     }
 
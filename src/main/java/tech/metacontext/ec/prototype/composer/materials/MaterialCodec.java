@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.materials;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import tech.metacontext.ec.prototype.composer.enums.MaterialType;
+import tech.metacontext.ec.prototype.composer.enums.mats.*;
+
+/**
+ * Fixed-width binary encoding of MusicMaterials for archiving. Every material
+ * starts with its division and parameters as bytes, followed by the number of
+ * elements and the elements themselves:
+ * <ul>
+ * <li>PitchSets: common tone; one int bit mask of Pitch ordinals per set.</li>
+ * <li>RhythmicPoints: min and max points; one short per division.</li>
+ * <li>Dynamics: lowest and highest Intensity; one byte ordinal per
+ * division.</li>
+ * <li>NoteRanges: lowest and highest NoteRange; one short bit mask of
+ * NoteRange ordinals per range set.</li>
+ * </ul>
+ * Materials are decoded into the implementation currently selected for their
+ * MaterialType.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class MaterialCodec {
+
+    private MaterialCodec() {
+    }
+
+    public static void write(DataOutput out, MusicMaterial mm) throws IOException {
+
+        out.writeByte(mm.getDivision());
+        if (mm instanceof PitchSets) {
+            var ps = (PitchSets) mm;
+            out.writeByte(ps.getCommonTone());
+            var sets = ps.getMaterials();
+            out.writeByte(sets.size());
+            for (var set : sets) {
+                out.writeInt(PackedPitchSets.toMask(set));
+            }
+        } else if (mm instanceof RhythmicPoints) {
+            var rp = (RhythmicPoints) mm;
+            out.writeByte(rp.getMin());
+            out.writeByte(rp.getMax());
+            var points = rp.getMaterials();
+            out.writeByte(points.size());
+            for (int p : points) {
+                out.writeShort(p);
+            }
+        } else if (mm instanceof Dynamics) {
+            var dy = (Dynamics) mm;
+            out.writeByte(dy.getLowestIntensity().ordinal());
+            out.writeByte(dy.getHighestIntensity().ordinal());
+            var intensities = dy.getMaterials();
+            out.writeByte(intensities.size());
+            for (var i : intensities) {
+                out.writeByte(i.ordinal());
+            }
+        } else if (mm instanceof NoteRanges) {
+            var nr = (NoteRanges) mm;
+            out.writeByte(nr.getLowest().ordinal());
+            out.writeByte(nr.getHighest().ordinal());
+            var ranges = nr.getMaterials();
+            out.writeByte(ranges.size());
+            for (var r : ranges) {
+                out.writeShort(NoteRanges.toMask(r));
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown MusicMaterial: "
+                    + mm.getClass().getSimpleName());
+        }
+    }
+
+    public static MusicMaterial read(ByteBuffer in, MaterialType type) {
+
+        int division = in.get();
+        MusicMaterial mm;
+        int size;
+        switch (type) {
+            case PITCH_SETS:
+                var ps = new PitchSets(division, in.get());
+                size = in.get();
+                var sets = new ArrayList<List<Pitch>>(size);
+                for (int i = 0; i < size; i++) {
+                    sets.add(PackedPitchSets.fromMask(in.getInt()));
+                }
+                ps.setMaterials(sets);
+                mm = ps;
+                break;
+            case RHYTHMIC_POINTS:
+                var rp = new RhythmicPoints(division, in.get(), in.get());
+                size = in.get();
+                var points = new ArrayList<Integer>(size);
+                for (int i = 0; i < size; i++) {
+                    points.add((int) in.getShort());
+                }
+                rp.setMaterials(points);
+                mm = rp;
+                break;
+            case DYNAMICS:
+                var dy = new Dynamics(division,
+                        Intensity.valueOf(in.get()), Intensity.valueOf(in.get()));
+                size = in.get();
+                var intensities = new ArrayList<Intensity>(size);
+                for (int i = 0; i < size; i++) {
+                    intensities.add(Intensity.valueOf(in.get()));
+                }
+                dy.setMaterials(intensities);
+                mm = dy;
+                break;
+            case NOTE_RANGES:
+                var nr = new NoteRanges(division,
+                        NoteRange.valueOf(in.get()), NoteRange.valueOf(in.get()));
+                size = in.get();
+                var ranges = new ArrayList<List<NoteRange>>(size);
+                for (int i = 0; i < size; i++) {
+                    ranges.add(PackedNoteRanges.fromMask(in.getShort()));
+                }
+                nr.setMaterials(ranges);
+                mm = nr;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown MaterialType: " + type);
+        }
+        return type.convert(mm);
+    }
+}
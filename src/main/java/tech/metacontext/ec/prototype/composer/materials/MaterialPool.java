@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.materials;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Weak interning pool of sealed music materials, keyed by content. While
+ * enabled, equal materials entering SketchNodes are replaced by one canonical
+ * instance, so that they are stored once and found equal by identity, while
+ * unequal ones mostly differ in their cached hash codes. Materials no longer
+ * referenced elsewhere are dropped from the pool by the garbage collector.
+ * The pool is disabled unless enabled by setEnabled(true), in
+ * which case interning costs nothing but a check. The pool is divided into
+ * segments locked independently, chosen by hash code, so that threads
+ * rendering in parallel seldom wait on one another.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public final class MaterialPool {
+
+    private static final int SEGMENTS = 16;
+
+    private static volatile boolean enabled = false;
+
+    /**
+     * Canonical instances, each referenced weakly both as key and as value.
+     */
+    private static final List<Map<MusicMaterial<?>, WeakReference<MusicMaterial<?>>>> POOL
+            = Stream.generate(WeakHashMap<MusicMaterial<?>, WeakReference<MusicMaterial<?>>>::new)
+                    .limit(SEGMENTS)
+                    .collect(Collectors.toUnmodifiableList());
+
+    private MaterialPool() {
+    }
+
+    /**
+     * Enable or disable interning of materials from now on. Materials already
+     * interned stay canonical.
+     *
+     * @param enabled
+     */
+    public static void setEnabled(boolean enabled) {
+
+        MaterialPool.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Get the canonical instance equal to specified material, pooling the
+     * material itself if there is none.
+     *
+     * @param <M>
+     * @param material
+     * @return the canonical instance, or the material itself if the pool is
+     * disabled, or the material is null or still open.
+     */
+    public static <M extends MusicMaterial<?>> M intern(M material) {
+
+        if (!enabled || Objects.isNull(material) || !material.isSealed()) {
+            return material;
+        }
+        if (material.isInterned()) {
+            return material;
+        }
+        int h = material.hashCode();
+        var segment = POOL.get((h ^ (h >>> 16)) & (SEGMENTS - 1));
+        synchronized (segment) {
+            var ref = segment.get(material);
+            var canonical = Objects.nonNull(ref) ? ref.get() : null;
+            if (Objects.nonNull(canonical)) {
+                // equal materials are of the same class
+                @SuppressWarnings("unchecked")
+                M m = (M) canonical;
+                return m;
+            }
+            material.markInterned();
+            segment.put(material, new WeakReference<>(material));
+            return material;
+        }
+    }
+
+    /**
+     * Get number of canonical instances currently pooled.
+     *
+     * @return the number.
+     */
+    public static int size() {
+
+        int size = 0;
+        for (var segment : POOL) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+}
@@ -18,11 +18,18 @@ package tech.metacontext.ec.prototype.composer.materials;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.ToDoubleFunction;
 import static tech.metacontext.ec.prototype.composer.Parameters.*;
 import tech.metacontext.ec.prototype.composer.enums.TransformType;
 
 /**
+ * Base of music materials. A material is open while its parameters are being
+ * set, and sealed once its materials are generated or assigned. A sealed
+ * material is immutable: its setters throw IllegalStateException and
+ * transformations return new materials, or the material itself for
+ * Repetition, so that it can be shared between SketchNodes, Compositions and
+ * threads.
  *
  * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
  * @param <E>
@@ -31,9 +38,18 @@ public abstract class MusicMaterial<E> implements Serializable {
 
     private int division;
     private List<E> materials;
+    private boolean sealed;
+    /**
+     * Hash code cached once sealed, 0 if not computed yet.
+     */
+    private transient int hash;
+    /**
+     * Whether this is the canonical instance in MaterialPool.
+     */
+    private transient boolean interned;
 
     /**
-     * Constructor with specified division and material content.
+     * Constructor with specified division and material content, sealed.
      *
      * @param division
      * @param materials
@@ -41,15 +57,42 @@ public abstract class MusicMaterial<E> implements Serializable {
     public MusicMaterial(int division, List<E> materials) {
 
         this.division = division;
-        this.materials = new ArrayList<>(materials);
+        this.materials = this.freeze(materials);
+        this.sealed = true;
+    }
+
+    /**
+     * Constructor with specified division only, open for materials to be
+     * assigned, or for subclasses keeping their materials in a representation
+     * of their own.
+     *
+     * @param division
+     */
+    protected MusicMaterial(int division) {
+
+        this.division = division;
+    }
+
+    /**
+     * Constructor sharing the materials of origin, which are immutable.
+     *
+     * @param origin
+     */
+    protected MusicMaterial(MusicMaterial<E> origin) {
+
+        this.division = origin.division;
+        this.materials = Objects.nonNull(origin.materials)
+                ? origin.materials : this.freeze(origin.getMaterials());
+        this.sealed = true;
     }
 
     /**
-     * Constructor with default parameters.
+     * Constructor with default parameters, open for parameters to be set
+     * before materials are generated.
      */
     public MusicMaterial() {
 
-        this.reset().generate();
+        this.reset();
     }
 
     /**
@@ -61,7 +104,8 @@ public abstract class MusicMaterial<E> implements Serializable {
     abstract public <M extends MusicMaterial> M reset();
 
     /**
-     * Generate materials according to current parameters.
+     * Generate materials according to current parameters, drawing from the
+     * random generator bound to current thread only, and seal this instance.
      *
      * @param <M>
      * @return this instance for cascading.
@@ -69,7 +113,7 @@ public abstract class MusicMaterial<E> implements Serializable {
     abstract public <M extends MusicMaterial> M generate();
 
     /**
-     * Randomize parameters.
+     * Randomize parameters and generate materials.
      *
      * @param <M>
      * @return this instance for cascading.
@@ -77,11 +121,11 @@ public abstract class MusicMaterial<E> implements Serializable {
     abstract public <M extends MusicMaterial> M random();
 
     /**
-     * Material transformation according to ConnectorType.
+     * Material transformation according to TransformType.
      *
      * @param <M>
      * @param type
-     * @return
+     * @return a new material, or this one where the result is equal.
      */
     abstract public <M extends MusicMaterial> M transform(TransformType type);
 
@@ -95,10 +139,137 @@ public abstract class MusicMaterial<E> implements Serializable {
 
     abstract public <M extends MusicMaterial> M duplicate();
 
+    /**
+     * Reversed copy of materials, for retrograde transformation.
+     *
+     * @param <T>
+     * @param materials
+     * @return the reversed copy.
+     */
+    protected static <T> List<T> reversed(List<T> materials) {
+
+        var reversed = new ArrayList<T>(materials.size());
+        for (int i = materials.size() - 1; i >= 0; i--) {
+            reversed.add(materials.get(i));
+        }
+        return reversed;
+    }
+
     public int size() {
         return this.materials.size();
     }
 
+    public boolean isSealed() {
+
+        return this.sealed;
+    }
+
+    /**
+     * Fail if this material is sealed. Called by setters of parameters.
+     */
+    protected void checkOpen() {
+
+        if (this.sealed) {
+            throw new IllegalStateException(this.getClass().getSimpleName()
+                    + " is immutable once generated.");
+        }
+    }
+
+    /**
+     * Seal this material. For subclasses assigning materials in a
+     * representation of their own.
+     */
+    protected void seal() {
+
+        this.sealed = true;
+    }
+
+    boolean isInterned() {
+
+        return this.interned;
+    }
+
+    void markInterned() {
+
+        this.interned = true;
+    }
+
+    /**
+     * Replace a deserialized material with its canonical instance if
+     * MaterialPool is enabled.
+     *
+     * @return the canonical instance.
+     */
+    protected Object readResolve() {
+
+        return MaterialPool.intern(this);
+    }
+
+    /**
+     * Immutable copy of materials. Subclasses whose elements are lists freeze
+     * them as well. A list already immutable is not copied again.
+     *
+     * @param materials
+     * @return the immutable copy.
+     */
+    protected List<E> freeze(List<E> materials) {
+
+        return List.copyOf(materials);
+    }
+
+    /**
+     * Compare materials with another instance of the same class. Subclasses
+     * keeping materials in a representation of their own override this
+     * together with materialsHashCode().
+     *
+     * @param other
+     * @return true if materials are equal.
+     */
+    protected boolean materialsEquals(MusicMaterial<E> other) {
+
+        return Objects.equals(this.getMaterials(), other.getMaterials());
+    }
+
+    protected int materialsHashCode() {
+
+        return Objects.hashCode(this.getMaterials());
+    }
+
+    @Override
+    public int hashCode() {
+
+        if (this.sealed && this.hash != 0) {
+            return this.hash;
+        }
+        int h = 7;
+        h = 53 * h + this.division;
+        h = 53 * h + this.materialsHashCode();
+        if (this.sealed) {
+            this.hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final MusicMaterial<E> other = (MusicMaterial<E>) obj;
+        if (this.sealed && other.sealed && this.hashCode() != other.hashCode()) {
+            return false;
+        }
+        return this.division == other.division
+                && this.materialsEquals(other);
+    }
+
     /*
    * Default setters and getters.
      */
@@ -107,15 +278,28 @@ public abstract class MusicMaterial<E> implements Serializable {
     }
 
     public void setDivision(int division) {
+        this.checkOpen();
         this.division = division;
     }
 
+    /**
+     * Get materials.
+     *
+     * @return the materials, unmodifiable.
+     */
     public List<E> getMaterials() {
         return materials;
     }
 
-    public void setMaterials(List<E> materials) {
-        this.materials = materials;
+    /**
+     * Assign materials and seal this instance.
+     *
+     * @param materials
+     */
+    protected void setMaterials(List<E> materials) {
+        this.checkOpen();
+        this.materials = this.freeze(materials);
+        this.sealed = true;
     }
 
 }
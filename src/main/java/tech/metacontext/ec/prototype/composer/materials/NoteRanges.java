@@ -16,11 +16,14 @@
 package tech.metacontext.ec.prototype.composer.materials;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import tech.metacontext.ec.prototype.composer.enums.TransformType;
 import tech.metacontext.ec.prototype.composer.enums.mats.*;
 import static tech.metacontext.ec.prototype.composer.Parameters.*;
-import java.util.Random;
+import tech.metacontext.ec.prototype.abs.SplitRandom;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -36,9 +39,16 @@ public class NoteRanges extends MusicMaterial<List<NoteRange>> implements Serial
     public NoteRanges() {
     }
 
+    protected NoteRanges(int division, NoteRange lowestRange, NoteRange highestRange) {
+
+        super(division);
+        this.lowestRange = lowestRange;
+        this.highestRange = highestRange;
+    }
+
     public NoteRanges(NoteRanges origin) {
 
-        super(origin.getDivision(), origin.getMaterials());
+        super(origin);
         this.lowestRange = origin.lowestRange;
         this.highestRange = origin.highestRange;
     }
@@ -63,9 +73,9 @@ public class NoteRanges extends MusicMaterial<List<NoteRange>> implements Serial
 
         int highest = this.highestRange.ordinal(), lowerest = this.lowestRange.ordinal();
         this.setMaterials(
-                new Random().ints(this.getDivision(), lowerest, highest + 1)
+                SplitRandom.current().ints(this.getDivision(), lowerest, highest + 1)
                         .mapToObj(lowerBond
-                                -> IntStream.rangeClosed(lowerBond, new Random().nextInt(highest - lowerBond + 1) + lowerBond)
+                                -> IntStream.rangeClosed(lowerBond, SplitRandom.current().nextInt(highest - lowerBond + 1) + lowerBond)
                                 .mapToObj(NoteRange::valueOf)
                                 .collect(Collectors.toList()))
                         .collect(Collectors.toList())
@@ -76,7 +86,7 @@ public class NoteRanges extends MusicMaterial<List<NoteRange>> implements Serial
     @Override
     public NoteRanges random() {
 
-        this.setDivision(new Random()
+        this.setDivision(SplitRandom.current()
                 .nextInt(MAX_DIVISION.getInt()
                         - MIN_DIVISION.getInt() + 1)
                 + MIN_DIVISION.getInt());
@@ -88,59 +98,169 @@ public class NoteRanges extends MusicMaterial<List<NoteRange>> implements Serial
 
         switch (type) {
             case Repetition:
-                return new NoteRanges(this);
+                return this;
             case Retrograde:
-                return new NoteRanges(this).retrograde();
+                return this.derive(reversed(this.getMaterials()));
             case MoveForward:
-                return new NoteRanges(this).moveForward();
+                return this.derive(this.moveForward());
             case MoveBackward:
-                return new NoteRanges(this).moveBackward();
+                return this.derive(this.moveBackward());
             case Disconnected:
-                return new NoteRanges();
+                return new NoteRanges().generate();
         }
         return null;
     }
 
-    private NoteRanges retrograde() {
+    /**
+     * New instance with the parameters of this one and specified materials,
+     * frozen into the new sealed instance.
+     *
+     * @param materials
+     * @return the new instance.
+     */
+    private NoteRanges derive(List<List<NoteRange>> materials) {
 
-        this.setMaterials(IntStream.range(0, this.size())
-                .mapToObj(i -> this.getMaterials().get(this.size() - i - 1))
-                .collect(Collectors.toList()));
-        return this;
+        var derived = new NoteRanges(this.getDivision(),
+                this.lowestRange, this.highestRange);
+        derived.setMaterials(materials);
+        return derived;
     }
 
-    private NoteRanges moveForward() {
+    private List<List<NoteRange>> moveForward() {
 
-        this.setMaterials(this.getMaterials().stream()
-                .map(rlist -> rlist.stream().map(r -> r.forward(this.highestRange)).collect(Collectors.toList()))
-                .collect(Collectors.toList()));
-        return this;
+        var moved = new ArrayList<List<NoteRange>>(this.size());
+        for (var ranges : this.getMaterials()) {
+            var rs = new ArrayList<NoteRange>(ranges.size());
+            for (var r : ranges) {
+                rs.add(r.forward(this.highestRange));
+            }
+            moved.add(rs);
+        }
+        return moved;
     }
 
-    private NoteRanges moveBackward() {
+    private List<List<NoteRange>> moveBackward() {
 
-        this.setMaterials(this.getMaterials().stream()
-                .map(rlist -> rlist.stream().map(r -> r.backward(this.lowestRange)).collect(Collectors.toList()))
-                .collect(Collectors.toList()));
-        return this;
+        var moved = new ArrayList<List<NoteRange>>(this.size());
+        for (var ranges : this.getMaterials()) {
+            var rs = new ArrayList<NoteRange>(ranges.size());
+            for (var r : ranges) {
+                rs.add(r.backward(this.lowestRange));
+            }
+            moved.add(rs);
+        }
+        return moved;
+    }
+
+    /**
+     * Each range set is frozen distinct and in ascending NoteRange order, so
+     * that ranges moved onto the lowest or highest range are not counted
+     * twice, as in PackedNoteRanges and MaterialCodec.
+     *
+     * @param materials
+     * @return the frozen range sets.
+     */
+    @Override
+    protected List<List<NoteRange>> freeze(List<List<NoteRange>> materials) {
+
+        var frozen = new ArrayList<List<NoteRange>>(materials.size());
+        for (var m : materials) {
+            frozen.add(m.stream().distinct().sorted()
+                    .collect(Collectors.toUnmodifiableList()));
+        }
+        return List.copyOf(frozen);
+    }
+
+    /**
+     * Average intensity index of note ranges within specified lowest and
+     * highest ranges.
+     *
+     * @param lowest
+     * @param highest
+     * @return intensity index ranging from 0.0 to 1.0.
+     */
+    public double getAvgIntensityIndex(NoteRange lowest, NoteRange highest) {
+
+        return this.getAvgIntensityIndex(mat
+                -> NoteRanges.getIntensityIndex(mat, lowest, highest));
+    }
+
+    /**
+     * Union of all note ranges as a bit mask, bit n standing for the NoteRange
+     * of ordinal n.
+     *
+     * @return the mask.
+     */
+    public int getRangeMask() {
+
+        return this.getMaterials().stream()
+                .mapToInt(NoteRanges::toMask)
+                .reduce(0, (m1, m2) -> m1 | m2);
+    }
+
+    public static int toMask(Collection<NoteRange> rangeSet) {
+
+        int mask = 0;
+        for (NoteRange r : rangeSet) {
+            mask |= 1 << r.ordinal();
+        }
+        return mask;
     }
 
     public static double getIntensityIndex(List<NoteRange> rangeSet,
             NoteRange lowest, NoteRange highest) {
 
-        int low = lowest.ordinal(),
-                hi = highest.ordinal();
-        return IntStream.rangeClosed(low, hi)
-                .filter(i -> rangeSet.contains(NoteRange.valueOf(i)))
-                .mapToDouble(i -> Math.pow(2, i - low))
-                .sum() / getBase(hi - low);
+        return getIntensityIndex(toMask(rangeSet), lowest, highest);
+    }
+
+    /**
+     * Intensity index of a range set: the ranges covered between lowest and
+     * highest weighted by 2^(ordinal - lowest), over the sum of all weights.
+     * With the range set as a bit mask, the weighted sum is the mask shifted
+     * by lowest.
+     *
+     * @param mask range set as a bit mask.
+     * @param lowest
+     * @param highest
+     * @return intensity index ranging from 0.0 to 1.0.
+     */
+    public static double getIntensityIndex(int mask,
+            NoteRange lowest, NoteRange highest) {
+
+        int coverage = highest.ordinal() - lowest.ordinal();
+        return 1.0 * ((mask >>> lowest.ordinal()) & getBase(coverage))
+                / getBase(coverage);
     }
 
+    /**
+     * Sum of 2^0 to 2^coverage.
+     *
+     * @param coverage
+     * @return the sum.
+     */
     public static int getBase(int coverage) {
 
-        return IntStream.rangeClosed(0, coverage)
-                .map(p -> (int) Math.pow(2, p))
-                .sum();
+        return (1 << (coverage + 1)) - 1;
+    }
+
+    @Override
+    public int hashCode() {
+
+        int hash = super.hashCode();
+        hash = 53 * hash + Objects.hashCode(this.lowestRange);
+        hash = 53 * hash + Objects.hashCode(this.highestRange);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        if (!super.equals(obj)) {
+            return false;
+        }
+        final NoteRanges other = (NoteRanges) obj;
+        return this.lowestRange == other.lowestRange
+                && this.highestRange == other.highestRange;
     }
 
     @Override
@@ -157,6 +277,7 @@ public class NoteRanges extends MusicMaterial<List<NoteRange>> implements Serial
     }
 
     public void setLowest(NoteRange lowest) {
+        this.checkOpen();
         this.lowestRange = lowest;
     }
 
@@ -165,6 +286,7 @@ public class NoteRanges extends MusicMaterial<List<NoteRange>> implements Serial
     }
 
     public void setHighest(NoteRange highest) {
+        this.checkOpen();
         this.highestRange = highest;
     }
 
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.materials;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import tech.metacontext.ec.prototype.composer.enums.TransformType;
+import tech.metacontext.ec.prototype.composer.enums.mats.Intensity;
+import static tech.metacontext.ec.prototype.composer.Parameters.*;
+
+/**
+ * Dynamics backed by a byte array of Intensity ordinals instead of a list of
+ * Intensity. getMaterials() returns a decoded copy, and changes to it are not
+ * written back.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class PackedDynamics extends Dynamics implements Serializable {
+
+    /**
+     * Never modified in place, so it can be shared between instances.
+     */
+    private byte[] intensities;
+
+    public PackedDynamics() {
+    }
+
+    public PackedDynamics(Consumer<Dynamics> init) {
+
+        super(init);
+    }
+
+    public PackedDynamics(Dynamics origin) {
+
+        super(origin.getDivision(),
+                origin.getLowestIntensity(), origin.getHighestIntensity());
+        this.setMaterials(origin.getMaterials());
+    }
+
+    private PackedDynamics(PackedDynamics origin, byte[] intensities) {
+
+        super(origin.getDivision(),
+                origin.getLowestIntensity(), origin.getHighestIntensity());
+        this.intensities = intensities;
+        this.seal();
+    }
+
+    @Override
+    public PackedDynamics duplicate() {
+
+        return new PackedDynamics(this, intensities);
+    }
+
+    @Override
+    public PackedDynamics transform(TransformType type) {
+
+        byte[] result;
+        switch (type) {
+            case Repetition:
+                return this;
+            case Retrograde:
+                result = new byte[intensities.length];
+                for (int i = 0; i < intensities.length; i++) {
+                    result[i] = intensities[intensities.length - i - 1];
+                }
+                return new PackedDynamics(this, result);
+            case MoveForward:
+                result = new byte[intensities.length];
+                for (int i = 0; i < intensities.length; i++) {
+                    result[i] = (byte) Math.min(intensities[i] + 1,
+                            this.getHighestIntensity().ordinal());
+                }
+                return new PackedDynamics(this, result);
+            case MoveBackward:
+                result = new byte[intensities.length];
+                for (int i = 0; i < intensities.length; i++) {
+                    result[i] = (byte) Math.max(intensities[i] - 1,
+                            this.getLowestIntensity().ordinal());
+                }
+                return new PackedDynamics(this, result);
+            case Disconnected:
+                var disconnected = new PackedDynamics();
+                disconnected.generate();
+                return disconnected;
+        }
+        return null;
+    }
+
+    @Override
+    public double getAvgIntensityIndex() {
+
+        int lowest = this.getLowestIntensity().ordinal(),
+                highest = this.getHighestIntensity().ordinal();
+        var stats = new DoubleSummaryStatistics();
+        for (byte i : intensities) {
+            stats.accept((i > highest) ? 1.0
+                    : (i < lowest) ? 0.0
+                            : 1.0 * (i - lowest) / (highest - lowest));
+        }
+        return stats.getAverage()
+                * this.getDivision()
+                / MAX_DIVISION.getDouble();
+    }
+
+    @Override
+    protected boolean materialsEquals(MusicMaterial other) {
+
+        return Arrays.equals(this.intensities, ((PackedDynamics) other).intensities);
+    }
+
+    @Override
+    protected int materialsHashCode() {
+
+        return Arrays.hashCode(this.intensities);
+    }
+
+    @Override
+    public int size() {
+
+        return intensities.length;
+    }
+
+    @Override
+    public List<Intensity> getMaterials() {
+
+        var materials = new ArrayList<Intensity>(intensities.length);
+        for (byte i : intensities) {
+            materials.add(Intensity.valueOf(i));
+        }
+        return materials;
+    }
+
+    @Override
+    protected void setMaterials(List<Intensity> materials) {
+
+        this.checkOpen();
+        this.intensities = new byte[materials.size()];
+        for (int i = 0; i < intensities.length; i++) {
+            intensities[i] = (byte) materials.get(i).ordinal();
+        }
+        this.seal();
+    }
+}
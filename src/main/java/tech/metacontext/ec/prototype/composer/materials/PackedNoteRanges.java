@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.materials;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import tech.metacontext.ec.prototype.composer.enums.TransformType;
+import tech.metacontext.ec.prototype.composer.enums.mats.NoteRange;
+import static tech.metacontext.ec.prototype.composer.Parameters.*;
+
+/**
+ * NoteRanges stored as one bit mask per division, bit n standing for the
+ * NoteRange of ordinal n. Moving forward or backward is a bit shift clamped at
+ * the highest or lowest range, and the intensity index is computed from the
+ * mask in constant time.
+ * <p>
+ * Note ranges are sets: getMaterials() returns a decoded copy in ascending
+ * order without the duplicates a clamped move leaves in a list-backed
+ * NoteRanges, and changes to it are not written back.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class PackedNoteRanges extends NoteRanges implements Serializable {
+
+    /**
+     * Never modified in place, so it can be shared between instances.
+     */
+    private int[] masks;
+
+    public PackedNoteRanges() {
+    }
+
+    public PackedNoteRanges(NoteRanges origin) {
+
+        super(origin.getDivision(), origin.getLowest(), origin.getHighest());
+        this.setMaterials(origin.getMaterials());
+    }
+
+    private PackedNoteRanges(PackedNoteRanges origin, int[] masks) {
+
+        super(origin.getDivision(), origin.getLowest(), origin.getHighest());
+        this.masks = masks;
+        this.seal();
+    }
+
+    @Override
+    public PackedNoteRanges duplicate() {
+
+        return new PackedNoteRanges(this, masks);
+    }
+
+    @Override
+    public PackedNoteRanges transform(TransformType type) {
+
+        int[] result;
+        int highest = this.getHighest().ordinal();
+        int lowest = this.getLowest().ordinal();
+        switch (type) {
+            case Repetition:
+                return this;
+            case Retrograde:
+                result = new int[masks.length];
+                for (int i = 0; i < masks.length; i++) {
+                    result[i] = masks[masks.length - i - 1];
+                }
+                return new PackedNoteRanges(this, result);
+            case MoveForward:
+                int belowHighest = (1 << highest) - 1;
+                result = new int[masks.length];
+                for (int i = 0; i < masks.length; i++) {
+                    result[i] = (masks[i] & belowHighest) << 1
+                            | (((masks[i] & ~belowHighest) != 0) ? 1 << highest : 0);
+                }
+                return new PackedNoteRanges(this, result);
+            case MoveBackward:
+                int uptoLowest = (1 << (lowest + 1)) - 1;
+                result = new int[masks.length];
+                for (int i = 0; i < masks.length; i++) {
+                    result[i] = (masks[i] & ~uptoLowest) >>> 1
+                            | (((masks[i] & uptoLowest) != 0) ? 1 << lowest : 0);
+                }
+                return new PackedNoteRanges(this, result);
+            case Disconnected:
+                var disconnected = new PackedNoteRanges();
+                disconnected.generate();
+                return disconnected;
+        }
+        return null;
+    }
+
+    @Override
+    public double getAvgIntensityIndex(NoteRange lowest, NoteRange highest) {
+
+        var stats = new DoubleSummaryStatistics();
+        for (int m : masks) {
+            stats.accept(NoteRanges.getIntensityIndex(m, lowest, highest));
+        }
+        return stats.getAverage()
+                * this.getDivision()
+                / MAX_DIVISION.getDouble();
+    }
+
+    @Override
+    public int getRangeMask() {
+
+        int union = 0;
+        for (int m : masks) {
+            union |= m;
+        }
+        return union;
+    }
+
+    public static List<NoteRange> fromMask(int mask) {
+
+        return IntStream.range(0, NoteRange.values().length)
+                .filter(i -> (mask & (1 << i)) != 0)
+                .mapToObj(NoteRange::valueOf)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected boolean materialsEquals(MusicMaterial other) {
+
+        return Arrays.equals(this.masks, ((PackedNoteRanges) other).masks);
+    }
+
+    @Override
+    protected int materialsHashCode() {
+
+        return Arrays.hashCode(this.masks);
+    }
+
+    @Override
+    public int size() {
+
+        return masks.length;
+    }
+
+    @Override
+    public List<List<NoteRange>> getMaterials() {
+
+        return IntStream.of(masks)
+                .mapToObj(PackedNoteRanges::fromMask)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected void setMaterials(List<List<NoteRange>> materials) {
+
+        this.checkOpen();
+        this.masks = materials.stream()
+                .mapToInt(NoteRanges::toMask)
+                .toArray();
+        this.seal();
+    }
+
+    public int[] getMasks() {
+
+        return masks.clone();
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2019 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.materials;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import tech.metacontext.ec.prototype.composer.enums.TransformType;
+import tech.metacontext.ec.prototype.composer.enums.mats.Pitch;
+
+/**
+ * PitchSets stored as one bit mask per division, bit n standing for the Pitch
+ * of ordinal n (17 bits, spelling kept). Transposition is a bit rotation,
+ * retrograde an array reversal and the intensity index a popcount.
+ * <p>
+ * Pitch sets are sets: getMaterials() returns a decoded copy in ascending
+ * ordinal order, and changes to it are not written back.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class PackedPitchSets extends PitchSets implements Serializable {
+
+    private static final int PITCH_CLASSES = 0xfff;
+
+    /**
+     * Never modified in place, so it can be shared between instances.
+     */
+    private int[] masks;
+
+    public static void main(String[] args) {
+
+        var pss = new PackedPitchSets().random();
+        Stream.of(TransformType.values())
+                .limit(4)
+                .forEach(tt -> System.out.printf("%s %s -> %s %.3f\n",
+                pss, tt, pss.transform(tt), pss.transform(tt).getIntensityIndex()));
+    }
+
+    public PackedPitchSets() {
+    }
+
+    public PackedPitchSets(Consumer<PitchSets> init) {
+
+        super(init);
+    }
+
+    public PackedPitchSets(PitchSets origin) {
+
+        super(origin.getDivision(), origin.getCommonTone());
+        this.setMaterials(origin.getMaterials());
+    }
+
+    private PackedPitchSets(int division, int commonTone, int[] masks) {
+
+        super(division, commonTone);
+        this.masks = masks;
+        this.seal();
+    }
+
+    @Override
+    public PackedPitchSets duplicate() {
+
+        return new PackedPitchSets(this.getDivision(), this.getCommonTone(), masks);
+    }
+
+    @Override
+    public PackedPitchSets transform(TransformType type) {
+
+        switch (type) {
+            case Repetition:
+                return this;
+            case Retrograde:
+                int[] reversed = new int[masks.length];
+                for (int i = 0; i < masks.length; i++) {
+                    reversed[i] = masks[masks.length - i - 1];
+                }
+                return new PackedPitchSets(this.getDivision(), this.getCommonTone(), reversed);
+            case MoveForward:
+                int[] forward = new int[masks.length];
+                for (int i = 0; i < masks.length; i++) {
+                    int m = enharmonic(masks[i]);
+                    forward[i] = ((m << 1) | (m >>> 11)) & PITCH_CLASSES;
+                }
+                return new PackedPitchSets(this.getDivision(), this.getCommonTone(), forward);
+            case MoveBackward:
+                int[] backward = new int[masks.length];
+                for (int i = 0; i < masks.length; i++) {
+                    int m = enharmonic(masks[i]);
+                    backward[i] = ((m >>> 1) | (m << 11)) & PITCH_CLASSES;
+                }
+                return new PackedPitchSets(this.getDivision(), this.getCommonTone(), backward);
+            case Disconnected:
+                var disconnected = new PackedPitchSets();
+                disconnected.generate();
+                return disconnected;
+        }
+        return null;
+    }
+
+    @Override
+    public double getIntensityIndex() {
+
+        int union = 0;
+        for (int m : masks) {
+            union |= enharmonic(m);
+        }
+        return 1.0 * Integer.bitCount(union) / 12;
+    }
+
+    /**
+     * Fold sharp-spelled bits onto their enharmonic pitch classes, as
+     * Pitch::ordinalEnharmonic does.
+     *
+     * @param mask
+     * @return 12-bit pitch class mask.
+     */
+    public static int enharmonic(int mask) {
+
+        return (mask & PITCH_CLASSES)
+                | ((mask >>> 12) & 1) << 1
+                | ((mask >>> 13) & 1) << 3
+                | ((mask >>> 14) & 1) << 6
+                | ((mask >>> 15) & 1) << 8
+                | ((mask >>> 16) & 1) << 10;
+    }
+
+    public static int toMask(List<Pitch> pitches) {
+
+        int mask = 0;
+        for (Pitch p : pitches) {
+            mask |= 1 << p.ordinal();
+        }
+        return mask;
+    }
+
+    public static List<Pitch> fromMask(int mask) {
+
+        return IntStream.range(0, Pitch.values().length)
+                .filter(i -> (mask & (1 << i)) != 0)
+                .mapToObj(i -> Pitch.values()[i])
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected boolean materialsEquals(MusicMaterial other) {
+
+        return Arrays.equals(this.masks, ((PackedPitchSets) other).masks);
+    }
+
+    @Override
+    protected int materialsHashCode() {
+
+        return Arrays.hashCode(this.masks);
+    }
+
+    @Override
+    public int size() {
+
+        return masks.length;
+    }
+
+    @Override
+    public List<List<Pitch>> getMaterials() {
+
+        return IntStream.of(masks)
+                .mapToObj(PackedPitchSets::fromMask)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected void setMaterials(List<List<Pitch>> materials) {
+
+        this.checkOpen();
+        this.masks = materials.stream()
+                .mapToInt(PackedPitchSets::toMask)
+                .toArray();
+        this.seal();
+    }
+
+    public int[] getMasks() {
+
+        return masks.clone();
+    }
+}
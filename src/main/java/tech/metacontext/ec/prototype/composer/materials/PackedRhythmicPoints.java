@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.materials;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import tech.metacontext.ec.prototype.composer.enums.TransformType;
+import static tech.metacontext.ec.prototype.composer.Parameters.*;
+
+/**
+ * RhythmicPoints backed by an int array instead of a list of boxed Integers.
+ * getMaterials() returns a decoded copy, and changes to it are not written
+ * back.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class PackedRhythmicPoints extends RhythmicPoints implements Serializable {
+
+    /**
+     * Never modified in place, so it can be shared between instances.
+     */
+    private int[] points;
+
+    public PackedRhythmicPoints() {
+    }
+
+    public PackedRhythmicPoints(Consumer<RhythmicPoints> init) {
+
+        super(init);
+    }
+
+    public PackedRhythmicPoints(RhythmicPoints origin) {
+
+        super(origin.getDivision(), origin.getMin(), origin.getMax());
+        this.setMaterials(origin.getMaterials());
+    }
+
+    private PackedRhythmicPoints(PackedRhythmicPoints origin, int[] points) {
+
+        super(origin.getDivision(), origin.getMin(), origin.getMax());
+        this.points = points;
+        this.seal();
+    }
+
+    @Override
+    public PackedRhythmicPoints duplicate() {
+
+        return new PackedRhythmicPoints(this, points);
+    }
+
+    @Override
+    public PackedRhythmicPoints transform(TransformType type) {
+
+        int[] result;
+        switch (type) {
+            case Repetition:
+                return this;
+            case Retrograde:
+                result = new int[points.length];
+                for (int i = 0; i < points.length; i++) {
+                    result[i] = points[points.length - i - 1];
+                }
+                return new PackedRhythmicPoints(this, result);
+            case MoveForward:
+                result = new int[points.length];
+                for (int i = 0; i < points.length; i++) {
+                    result[i] = Math.min(points[i] + 1, this.getMax());
+                }
+                return new PackedRhythmicPoints(this, result);
+            case MoveBackward:
+                result = new int[points.length];
+                for (int i = 0; i < points.length; i++) {
+                    result[i] = Math.max(points[i] - 1, this.getMin());
+                }
+                return new PackedRhythmicPoints(this, result);
+            case Disconnected:
+                var disconnected = new PackedRhythmicPoints();
+                disconnected.generate();
+                return disconnected;
+        }
+        return null;
+    }
+
+    @Override
+    public double getAvgIntensityIndex() {
+
+        var stats = new DoubleSummaryStatistics();
+        for (int p : points) {
+            stats.accept(1.0 * (p - this.getMin()) / (this.getMax() - this.getMin()));
+        }
+        return stats.getAverage()
+                * this.getDivision()
+                / MAX_DIVISION.getDouble();
+    }
+
+    @Override
+    protected boolean materialsEquals(MusicMaterial other) {
+
+        return Arrays.equals(this.points, ((PackedRhythmicPoints) other).points);
+    }
+
+    @Override
+    protected int materialsHashCode() {
+
+        return Arrays.hashCode(this.points);
+    }
+
+    @Override
+    public int size() {
+
+        return points.length;
+    }
+
+    @Override
+    public List<Integer> getMaterials() {
+
+        return IntStream.of(points)
+                .boxed()
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected void setMaterials(List<Integer> materials) {
+
+        this.checkOpen();
+        this.points = materials.stream()
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.seal();
+    }
+
+    public int getPoints(int index) {
+
+        return points[index];
+    }
+}
@@ -23,12 +23,10 @@ import static tech.metacontext.ec.prototype.composer.Parameters.*;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
+import tech.metacontext.ec.prototype.abs.SplitRandom;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 /**
  *
@@ -41,15 +39,17 @@ public class PitchSets extends MusicMaterial<List<Pitch>> implements Serializabl
     public static final int DEFAULT_SHARP_ALLOWED = SHARP_ALLOWED;
 
     private int commonTone = 0;
-    public transient PitchSetFactory factory;
+    /**
+     * Parameters of pitch sets to be generated. Not modified by generation.
+     */
+    private transient PitchSetFactory factory;
 
     public static void main(String[] args) {
 
-        PitchSets pss = new PitchSets();
-        pss.setCommonTone(2);
         for (int i = 0; i < 10; i++) {
+            PitchSets pss = new PitchSets();
+            pss.setCommonTone(2);
             System.out.println(pss.random());
-            pss.factory.randomize();
         }
     }
 
@@ -58,26 +58,27 @@ public class PitchSets extends MusicMaterial<List<Pitch>> implements Serializabl
 
     public PitchSets(PitchSets origin) {
 
-        super(origin.getDivision(), origin.getMaterials());
+        super(origin);
         this.commonTone = origin.commonTone;
     }
 
+    protected PitchSets(int division, int commonTone) {
+
+        super(division);
+        this.commonTone = commonTone;
+    }
+
     public PitchSets(Consumer<PitchSets> init) {
 
         super();
         init.accept(this);
+        this.generate();
     }
 
     @Override
     public PitchSets duplicate() {
 
-        PitchSets dupe = new PitchSets();
-        dupe.setDivision(this.getDivision());
-        dupe.setCommonTone(this.getCommonTone());
-        dupe.setMaterials(this.getMaterials().stream()
-                .map(ArrayList::new)
-                .collect(Collectors.toList()));
-        return dupe;
+        return new PitchSets(this);
     }
 
     @Override
@@ -91,21 +92,22 @@ public class PitchSets extends MusicMaterial<List<Pitch>> implements Serializabl
     @Override
     public PitchSets generate() {
 
-        if (factory.getMinPitchNumber() < this.commonTone) {
-            factory.setMinPitchNumber(this.commonTone);
+        int minPitchNumber = Math.max(factory.getMinPitchNumber(), this.commonTone);
+        var pitchSets = new ArrayList<List<Pitch>>(this.getDivision());
+        Set<Pitch> preset = Set.of();
+        for (int i = 0; i < this.getDivision(); i++) {
+            var ps = factory.generate(preset, minPitchNumber);
+            preset = selectPitch(ps, this.commonTone);
+            pitchSets.add(ps);
         }
-        this.setMaterials(Stream.generate(factory::generate)
-                .peek(ps -> factory.setPresetPitches(selectPitch(ps, this.commonTone)))
-                .limit(this.getDivision())
-                .collect(Collectors.toList())
-        );
+        this.setMaterials(pitchSets);
         return this;
     }
 
     @Override
     public PitchSets random() {
 
-        this.setDivision(new Random().nextInt(
+        this.setDivision(SplitRandom.current().nextInt(
                 MAX_DIVISION.getInt()
                 - MIN_DIVISION.getInt() + 1)
                 + MIN_DIVISION.getInt());
@@ -117,57 +119,83 @@ public class PitchSets extends MusicMaterial<List<Pitch>> implements Serializabl
 
         switch (type) {
             case Repetition:
-                return new PitchSets(this);
+                return this;
             case Retrograde:
-                return new PitchSets(this).retrograde();
+                return this.derive(reversed(this.getMaterials()));
             case MoveForward:
-                return new PitchSets(this).moveForward();
+                return this.derive(this.moveForward());
             case MoveBackward:
-                return new PitchSets(this).moveBackward();
+                return this.derive(this.moveBackward());
             case Disconnected:
-                return new PitchSets();
+                return new PitchSets().generate();
         }
         return null;
     }
 
-    private Set<Pitch> selectPitch(List<Pitch> ps, int commonTone) {
-        Set<Pitch> selected = new HashSet<>();
-        while (selected.size() < commonTone) {
-            selected.add(ps.get(new Random().nextInt(ps.size())));
-        }
-        return selected;
+    /**
+     * New instance with the parameters of this one and specified materials,
+     * frozen into the new sealed instance.
+     *
+     * @param materials
+     * @return the new instance.
+     */
+    private PitchSets derive(List<List<Pitch>> materials) {
+
+        var derived = new PitchSets(this.getDivision(), this.commonTone);
+        derived.setMaterials(materials);
+        return derived;
     }
 
-    private PitchSets retrograde() {
+    private List<List<Pitch>> moveForward() {
 
-        this.setMaterials(IntStream.range(0, this.size())
-                .mapToObj(i -> this.getMaterials().get(this.size() - i - 1))
-                .collect(Collectors.toList()));
-        return this;
+        var moved = new ArrayList<List<Pitch>>(this.size());
+        for (var ps : this.getMaterials()) {
+            var p = new ArrayList<Pitch>(ps.size());
+            for (var pitch : ps) {
+                p.add(pitch.forward());
+            }
+            moved.add(p);
+        }
+        return moved;
     }
 
-    private PitchSets moveForward() {
+    private List<List<Pitch>> moveBackward() {
 
-        IntStream.range(0, this.size())
-                .forEach(i -> {
-                    this.getMaterials().set(i,
-                            this.getMaterials().get(i).stream()
-                                    .map(Pitch::forward)
-                                    .collect(Collectors.toList()));
-                });
-        return this;
+        var moved = new ArrayList<List<Pitch>>(this.size());
+        for (var ps : this.getMaterials()) {
+            var p = new ArrayList<Pitch>(ps.size());
+            for (var pitch : ps) {
+                p.add(pitch.backward());
+            }
+            moved.add(p);
+        }
+        return moved;
+    }
+
+    private Set<Pitch> selectPitch(List<Pitch> ps, int commonTone) {
+        Set<Pitch> selected = new HashSet<>();
+        while (selected.size() < commonTone) {
+            selected.add(ps.get(SplitRandom.current().nextInt(ps.size())));
+        }
+        return selected;
     }
 
-    private PitchSets moveBackward() {
+    /**
+     * Each pitch set is frozen in ascending Pitch order, so that equal sets
+     * compare equal however they were generated or transformed, as they do
+     * in PackedPitchSets and MaterialCodec.
+     *
+     * @param materials
+     * @return the frozen pitch sets.
+     */
+    @Override
+    protected List<List<Pitch>> freeze(List<List<Pitch>> materials) {
 
-        IntStream.range(0, this.size())
-                .forEach(i -> {
-                    this.getMaterials().set(i,
-                            this.getMaterials().get(i).stream()
-                                    .map(Pitch::backward)
-                                    .collect(Collectors.toList()));
-                });
-        return this;
+        var frozen = new ArrayList<List<Pitch>>(materials.size());
+        for (var m : materials) {
+            frozen.add(m.stream().sorted().collect(Collectors.toUnmodifiableList()));
+        }
+        return List.copyOf(frozen);
     }
 
     public double getIntensityIndex() {
@@ -180,6 +208,24 @@ public class PitchSets extends MusicMaterial<List<Pitch>> implements Serializabl
         return 1.0 * counting / 12;
     }
 
+    @Override
+    public int hashCode() {
+
+        int hash = super.hashCode();
+        hash = 53 * hash + this.commonTone;
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        if (!super.equals(obj)) {
+            return false;
+        }
+        final PitchSets other = (PitchSets) obj;
+        return this.commonTone == other.commonTone;
+    }
+
     @Override
     public String toString() {
 
@@ -194,6 +240,7 @@ public class PitchSets extends MusicMaterial<List<Pitch>> implements Serializabl
     }
 
     public void setCommonTone(int commonTone) {
+        this.checkOpen();
         this.commonTone = commonTone;
     }
 
@@ -16,10 +16,11 @@
 package tech.metacontext.ec.prototype.composer.materials;
 
 import java.io.Serializable;
-import java.util.Random;
+import tech.metacontext.ec.prototype.abs.SplitRandom;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import tech.metacontext.ec.prototype.composer.enums.TransformType;
 import static tech.metacontext.ec.prototype.composer.Parameters.*;
@@ -34,8 +35,7 @@ public class RhythmicPoints extends MusicMaterial<Integer> implements Serializab
 
     public static void main(String[] args) {
 
-        RhythmicPoints nn = new RhythmicPoints();
-        Stream.generate(() -> nn.random())
+        Stream.generate(() -> new RhythmicPoints().random())
                 .limit(50)
                 .map(RhythmicPoints::getMaterials)
                 .forEach(System.out::println);
@@ -44,14 +44,23 @@ public class RhythmicPoints extends MusicMaterial<Integer> implements Serializab
     public RhythmicPoints() {
     }
 
+    protected RhythmicPoints(int division, int minPoints, int maxPoints) {
+
+        super(division);
+        this.minPoints = minPoints;
+        this.maxPoints = maxPoints;
+    }
+
     public RhythmicPoints(Consumer<RhythmicPoints> init) {
+
         super();
         init.accept(this);
+        this.generate();
     }
 
     public RhythmicPoints(RhythmicPoints origin) {
 
-        super(origin.getDivision(), origin.getMaterials());
+        super(origin);
         this.minPoints = origin.minPoints;
         this.maxPoints = origin.maxPoints;
     }
@@ -76,7 +85,7 @@ public class RhythmicPoints extends MusicMaterial<Integer> implements Serializab
 
         this.setMaterials(
                 Stream.generate(()
-                        -> new Random().nextInt(this.maxPoints - this.minPoints + 1) + this.minPoints)
+                        -> SplitRandom.current().nextInt(this.maxPoints - this.minPoints + 1) + this.minPoints)
                         .limit(this.getDivision())
                         .collect(Collectors.toList())
         );
@@ -86,7 +95,7 @@ public class RhythmicPoints extends MusicMaterial<Integer> implements Serializab
     @Override
     public RhythmicPoints random() {
 
-        this.setDivision(new Random()
+        this.setDivision(SplitRandom.current()
                 .nextInt(MAX_DIVISION.getInt()
                         - MIN_DIVISION.getInt() + 1)
                 + MIN_DIVISION.getInt());
@@ -95,49 +104,85 @@ public class RhythmicPoints extends MusicMaterial<Integer> implements Serializab
 
     @Override
     public RhythmicPoints transform(TransformType type) {
+
         switch (type) {
             case Repetition:
-                return new RhythmicPoints(this);
+                return this;
             case Retrograde:
-                return new RhythmicPoints(this).retrograde();
+                return this.derive(reversed(this.getMaterials()));
             case MoveForward:
-                return new RhythmicPoints(this).moveForward();
+                return this.derive(this.moveForward());
             case MoveBackward:
-                return new RhythmicPoints(this).moveBackward();
+                return this.derive(this.moveBackward());
             case Disconnected:
-                return new RhythmicPoints();
+                return new RhythmicPoints().generate();
         }
         return null;
     }
 
-    private RhythmicPoints retrograde() {
+    /**
+     * New instance with the parameters of this one and specified materials,
+     * frozen into the new sealed instance.
+     *
+     * @param materials
+     * @return the new instance.
+     */
+    private RhythmicPoints derive(List<Integer> materials) {
 
-        this.setMaterials(IntStream.range(0, this.size())
-                .mapToObj(i -> this.getMaterials().get(this.size() - i - 1))
-                .collect(Collectors.toList()));
-        return this;
+        var derived = new RhythmicPoints(this.getDivision(),
+                this.minPoints, this.maxPoints);
+        derived.setMaterials(materials);
+        return derived;
     }
 
-    private RhythmicPoints moveForward() {
+    private List<Integer> moveForward() {
 
-        IntStream.range(0, this.size())
-                .forEach(i -> {
-                    int o = Math.min(this.getMaterials().get(i) + 1,
-                            this.maxPoints);
-                    this.getMaterials().set(i, o);
-                });
-        return this;
+        var moved = new ArrayList<Integer>(this.size());
+        for (int mat : this.getMaterials()) {
+            moved.add(Math.min(mat + 1, this.maxPoints));
+        }
+        return moved;
     }
 
-    private RhythmicPoints moveBackward() {
+    private List<Integer> moveBackward() {
 
-        IntStream.range(0, this.size())
-                .forEach(i -> {
-                    int o = Math.max(this.getMaterials().get(i) - 1,
-                            this.minPoints);
-                    this.getMaterials().set(i, o);
-                });
-        return this;
+        var moved = new ArrayList<Integer>(this.size());
+        for (int mat : this.getMaterials()) {
+            moved.add(Math.max(mat - 1, this.minPoints));
+        }
+        return moved;
+    }
+
+    /**
+     * Average intensity index of rhythmic points, scaled from minimum to
+     * maximum points.
+     *
+     * @return intensity index ranging from 0.0 to 1.0.
+     */
+    public double getAvgIntensityIndex() {
+
+        return this.getAvgIntensityIndex(mat
+                -> 1.0 * (mat - this.minPoints) / (this.maxPoints - this.minPoints));
+    }
+
+    @Override
+    public int hashCode() {
+
+        int hash = super.hashCode();
+        hash = 53 * hash + this.minPoints;
+        hash = 53 * hash + this.maxPoints;
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        if (!super.equals(obj)) {
+            return false;
+        }
+        final RhythmicPoints other = (RhythmicPoints) obj;
+        return this.minPoints == other.minPoints
+                && this.maxPoints == other.maxPoints;
     }
 
     @Override
@@ -154,6 +199,7 @@ public class RhythmicPoints extends MusicMaterial<Integer> implements Serializab
     }
 
     public void setMin(int min) {
+        this.checkOpen();
         this.minPoints = min;
     }
 
@@ -162,6 +208,7 @@ public class RhythmicPoints extends MusicMaterial<Integer> implements Serializab
     }
 
     public void setMax(int max) {
+        this.checkOpen();
         this.maxPoints = max;
     }
 
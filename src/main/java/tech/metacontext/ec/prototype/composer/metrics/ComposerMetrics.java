@@ -0,0 +1,299 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.metrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import tech.metacontext.ec.prototype.abs.Log;
+
+/**
+ * Per-generation instrumentation of a Composer: time spent in each phase,
+ * children produced and rejected by conservation, renders, scoring and heap
+ * used. Counters are updated from breeding threads without locking; a
+ * generation is recorded when it ends, published as an MXBean and passed to
+ * sinks.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class ComposerMetrics implements ComposerMetricsMXBean {
+
+    private final ObjectName name;
+    private final Log log;
+    private final LongAdder[] phaseNanos = Stream.generate(LongAdder::new)
+            .limit(Phase.values().length)
+            .toArray(LongAdder[]::new);
+    private final LongAdder children = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder renders = new LongAdder();
+    private final LongAdder renderHits = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder scored = new LongAdder();
+    private final List<MetricsSink> sinks = new CopyOnWriteArrayList<>();
+
+    private int generation = -1;
+    private long started;
+    private volatile GenerationRecord last;
+
+    /**
+     * Constructor.
+     *
+     * @param id of the Composer.
+     * @param log for reporting failures of registration and sinks.
+     */
+    public ComposerMetrics(String id, Log log) {
+
+        this.log = log;
+        ObjectName objectName = null;
+        try {
+            objectName = new ObjectName("tech.metacontext.ec:type=Composer,id=" + id);
+        } catch (JMException ex) {
+            log.log(Level.WARNING, "Invalid metrics name for {0}", id);
+        }
+        this.name = objectName;
+    }
+
+    /**
+     * Register as platform MXBean, replacing any registered for the same
+     * Composer.
+     */
+    public void register() {
+
+        if (name == null) {
+            return;
+        }
+        var server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (JMException ex) {
+            log.log(Level.WARNING, "Failed to register metrics {0}: {1}",
+                    name, ex.getMessage());
+        }
+    }
+
+    public void unregister() {
+
+        try {
+            var server = ManagementFactory.getPlatformMBeanServer();
+            if (name != null && server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException ex) {
+            log.log(Level.WARNING, "Failed to unregister metrics {0}: {1}",
+                    name, ex.getMessage());
+        }
+    }
+
+    public void addSink(MetricsSink sink) {
+
+        sinks.add(sink);
+    }
+
+    /**
+     * Close and remove all sinks.
+     */
+    public void closeSinks() {
+
+        for (var sink : sinks) {
+            try {
+                sink.close();
+            } catch (IOException ex) {
+                log.log(Level.WARNING, "Failed to close metrics sink: {0}", ex.getMessage());
+            }
+        }
+        sinks.clear();
+    }
+
+    public long start() {
+
+        return System.nanoTime();
+    }
+
+    /**
+     * Add the time elapsed since start to a phase.
+     *
+     * @param phase
+     * @param start as returned by start().
+     */
+    public void record(Phase phase, long start) {
+
+        phaseNanos[phase.ordinal()].add(System.nanoTime() - start);
+    }
+
+    public void countChild(boolean rejected) {
+
+        children.increment();
+        if (rejected) {
+            this.rejected.increment();
+        }
+    }
+
+    public void countRender() {
+
+        renders.increment();
+    }
+
+    public void countRenderHit() {
+
+        renderHits.increment();
+    }
+
+    public void countCacheHit() {
+
+        cacheHits.increment();
+    }
+
+    public void countScored() {
+
+        scored.increment();
+    }
+
+    /**
+     * Begin a generation, unless already begun.
+     *
+     * @param generation
+     */
+    public synchronized void beginGeneration(int generation) {
+
+        if (this.generation != generation) {
+            this.generation = generation;
+            this.started = System.nanoTime();
+            Stream.of(phaseNanos).forEach(LongAdder::reset);
+            Stream.of(children, rejected, renders, renderHits, cacheHits, scored)
+                    .forEach(LongAdder::reset);
+        }
+    }
+
+    /**
+     * End a generation, recording its metrics.
+     *
+     * @param generation
+     * @return the record.
+     */
+    public synchronized GenerationRecord endGeneration(int generation) {
+
+        beginGeneration(generation);
+        var runtime = Runtime.getRuntime();
+        var record = new GenerationRecord(generation,
+                System.nanoTime() - started,
+                Stream.of(phaseNanos).mapToLong(LongAdder::sum).toArray(),
+                children.sum(), rejected.sum(), renders.sum(), renderHits.sum(),
+                cacheHits.sum(), scored.sum(),
+                runtime.totalMemory() - runtime.freeMemory());
+        this.last = record;
+        this.generation = -1;
+        for (var sink : sinks) {
+            try {
+                sink.accept(record);
+            } catch (IOException ex) {
+                log.log(Level.WARNING, "Failed to write metrics of Generation {0}: {1}",
+                        generation, ex.getMessage());
+            }
+        }
+        return record;
+    }
+
+    public GenerationRecord getLast() {
+
+        return last;
+    }
+
+    @Override
+    public int getGeneration() {
+
+        var record = last;
+        return record == null ? -1 : record.getGeneration();
+    }
+
+    @Override
+    public double getWallTimeMillis() {
+
+        var record = last;
+        return record == null ? 0.0 : record.getWallNanos() / 1e6;
+    }
+
+    @Override
+    public Map<String, Double> getPhaseTimeMillis() {
+
+        var record = last;
+        var result = new LinkedHashMap<String, Double>();
+        for (var phase : Phase.values()) {
+            result.put(phase.name(), record == null ? 0.0 : record.getPhaseNanos(phase) / 1e6);
+        }
+        return result;
+    }
+
+    @Override
+    public long getChildren() {
+
+        var record = last;
+        return record == null ? 0 : record.getChildren();
+    }
+
+    @Override
+    public long getRejected() {
+
+        var record = last;
+        return record == null ? 0 : record.getRejected();
+    }
+
+    @Override
+    public long getRenders() {
+
+        var record = last;
+        return record == null ? 0 : record.getRenders();
+    }
+
+    @Override
+    public long getRenderHits() {
+
+        var record = last;
+        return record == null ? 0 : record.getRenderHits();
+    }
+
+    @Override
+    public long getCacheHits() {
+
+        var record = last;
+        return record == null ? 0 : record.getCacheHits();
+    }
+
+    @Override
+    public long getScored() {
+
+        var record = last;
+        return record == null ? 0 : record.getScored();
+    }
+
+    @Override
+    public long getHeapUsed() {
+
+        var record = last;
+        return record == null ? 0 : record.getHeapUsed();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 Jonathan.
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,28 +13,35 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package tech.metacontext.ec.prototype.composer.ex;
+package tech.metacontext.ec.prototype.composer.metrics;
+
+import java.util.Map;
 
 /**
+ * Management interface of ComposerMetrics, reporting the last completed
+ * generation.
  *
  * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
  */
-public class InstantiationFailedException extends RuntimeException {
-
-    /**
-     * Creates a new instance of <code>InstantiationFailedException</code>
-     * without detail message.
-     */
-    public InstantiationFailedException() {
-    }
-
-    /**
-     * Constructs an instance of <code>InstantiationFailedException</code> with
-     * the specified detail message.
-     *
-     * @param msg the detail message.
-     */
-    public InstantiationFailedException(String msg) {
-        super(msg);
-    }
+public interface ComposerMetricsMXBean {
+
+    int getGeneration();
+
+    double getWallTimeMillis();
+
+    Map<String, Double> getPhaseTimeMillis();
+
+    long getChildren();
+
+    long getRejected();
+
+    long getRenders();
+
+    long getRenderHits();
+
+    long getCacheHits();
+
+    long getScored();
+
+    long getHeapUsed();
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.metrics;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Metrics of a completed generation.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public final class GenerationRecord {
+
+    private final int generation;
+    private final long wallNanos;
+    private final long[] phaseNanos;
+    private final long children;
+    private final long rejected;
+    private final long renders;
+    private final long renderHits;
+    private final long cacheHits;
+    private final long scored;
+    private final long heapUsed;
+
+    GenerationRecord(int generation, long wallNanos, long[] phaseNanos,
+            long children, long rejected, long renders, long renderHits,
+            long cacheHits, long scored, long heapUsed) {
+
+        this.generation = generation;
+        this.wallNanos = wallNanos;
+        this.phaseNanos = phaseNanos;
+        this.children = children;
+        this.rejected = rejected;
+        this.renders = renders;
+        this.renderHits = renderHits;
+        this.cacheHits = cacheHits;
+        this.scored = scored;
+        this.heapUsed = heapUsed;
+    }
+
+    public static String csvHeader() {
+
+        return Stream.of(
+                Stream.of("generation", "wall_ms"),
+                Stream.of(Phase.values()).map(p -> p.name().toLowerCase() + "_ms"),
+                Stream.of("children", "rejected", "renders", "render_hits",
+                        "cache_hits", "scored", "heap_used"))
+                .flatMap(s -> s)
+                .collect(Collectors.joining(","));
+    }
+
+    public String toCsv() {
+
+        return Stream.of(
+                Stream.of(String.valueOf(generation), millis(wallNanos)),
+                Arrays.stream(phaseNanos).mapToObj(GenerationRecord::millis),
+                Stream.of(children, rejected, renders, renderHits, cacheHits,
+                        scored, heapUsed).map(String::valueOf))
+                .flatMap(s -> s)
+                .collect(Collectors.joining(","));
+    }
+
+    public String toJson() {
+
+        return String.format("{\"generation\":%d,\"wall_ms\":%s,\"phase_ms\":{%s},"
+                + "\"children\":%d,\"rejected\":%d,\"renders\":%d,\"render_hits\":%d,"
+                + "\"cache_hits\":%d,\"scored\":%d,\"heap_used\":%d}",
+                generation, millis(wallNanos),
+                Stream.of(Phase.values())
+                        .map(p -> "\"" + p.name().toLowerCase() + "\":"
+                        + millis(phaseNanos[p.ordinal()]))
+                        .collect(Collectors.joining(",")),
+                children, rejected, renders, renderHits, cacheHits, scored,
+                heapUsed);
+    }
+
+    private static String millis(long nanos) {
+
+        return String.format("%.3f", nanos / 1e6);
+    }
+
+    @Override
+    public String toString() {
+
+        return toJson();
+    }
+
+    /*
+     * Default getters.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public long getChildren() {
+        return children;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getRenders() {
+        return renders;
+    }
+
+    public long getRenderHits() {
+        return renderHits;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public long getScored() {
+        return scored;
+    }
+
+    public long getHeapUsed() {
+        return heapUsed;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Write generation metrics to a file, one line per generation, as CSV or as
+ * JSON lines. Each line is flushed, so that a running or crashed run can be
+ * inspected.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class MetricsFileSink implements MetricsSink {
+
+    public static enum Format {
+        CSV, JSON_LINES
+    }
+
+    private final Format format;
+    private final BufferedWriter writer;
+
+    /**
+     * Open a sink with the format given by file name: CSV for ".csv", JSON
+     * lines otherwise.
+     *
+     * @param file
+     * @return the sink.
+     * @throws IOException
+     */
+    public static MetricsFileSink of(Path file) throws IOException {
+
+        return new MetricsFileSink(file,
+                file.getFileName().toString().endsWith(".csv")
+                ? Format.CSV : Format.JSON_LINES);
+    }
+
+    public MetricsFileSink(Path file, Format format) throws IOException {
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.format = format;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        if (format == Format.CSV) {
+            writer.write(GenerationRecord.csvHeader());
+            writer.newLine();
+        }
+    }
+
+    @Override
+    public synchronized void accept(GenerationRecord record) throws IOException {
+
+        writer.write(format == Format.CSV ? record.toCsv() : record.toJson());
+        writer.newLine();
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+
+        writer.close();
+    }
+}
@@ -20,6 +20,16 @@ import tech.metacontext.ec.prototype.draw.LineChart_AWT;
 import tech.metacontext.ec.prototype.draw.ScatterPlot_AWT;
 import tech.metacontext.ec.prototype.draw.CombinedChart_AWT;
 import tech.metacontext.ec.prototype.abs.Population;
+import tech.metacontext.ec.prototype.composer.archive.ArchiveFormat;
+import tech.metacontext.ec.prototype.composer.archive.ArchivePipeline;
+import tech.metacontext.ec.prototype.composer.archive.GenerationSnapshot;
+import tech.metacontext.ec.prototype.composer.archive.GenerationWriter;
+import tech.metacontext.ec.prototype.composer.archive.MappedArchive;
+import tech.metacontext.ec.prototype.composer.archive.ScoreArchive;
+import tech.metacontext.ec.prototype.composer.metrics.ComposerMetrics;
+import tech.metacontext.ec.prototype.composer.metrics.Phase;
+import tech.metacontext.ec.prototype.abs.SelectionIndex;
+import tech.metacontext.ec.prototype.abs.SplitRandom;
 import tech.metacontext.ec.prototype.composer.ex.ConservationFailedException;
 import tech.metacontext.ec.prototype.composer.operations.MutationType;
 import tech.metacontext.ec.prototype.composer.materials.MusicMaterial;
@@ -36,19 +46,25 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.awt.Color;
 import java.awt.geom.Ellipse2D;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import org.jfree.chart.renderer.category.CategoryItemRenderer;
@@ -79,15 +95,57 @@ public class Composer extends Population<Composition> implements Serializable {
     private static SketchNodeFactory sketchNodeFactory;
 
     private ComposerAim aim;
+    /**
+     * Where the log is written to, applied again when resumed.
+     */
+    private LogState logState;
     private List<Style> styles;
     private int size;
     private double threshold;
     private double conserve_score;
-    private Consumer<MusicMaterial> init;
+    /**
+     * Not serialized; rebuilt from styles when a Composer is read.
+     */
+    private transient Consumer<MusicMaterial> init;
 
-    private final Map<Composition, Integer> conservatory = new HashMap<>();
+    private final Map<Composition, Integer> conservatory = new ConcurrentHashMap<>();
+    /**
+     * Scores and sizes of every generation sketched, and scores of conserved
+     * Compositions, for drawing charts without the archive.
+     */
+    private volatile ScoreArchive scoreArchive = new ScoreArchive();
+    /**
+     * Root random generator of the run. It is bound to the calling thread
+     * during initialization, sketch and evolve, and split into a separate
+     * stream for every child produced so that parallel breeding does not share
+     * generator state. A Composer constructed with a seed is reproducible.
+     */
+    private final SplitRandom random;
+    /**
+     * Selection indexes of current generation, indexed by SELECT_FROM_ALL and
+     * SELECT_ONLY_COMPLETED. Rebuilt lazily whenever the population changes.
+     */
+    private transient volatile List<SelectionIndex<Composition>> selectionIndexes;
+    /**
+     * Scores of rendered material sequences, shared by all compositions of
+     * this Composer across generations.
+     */
+    private transient volatile FitnessCache fitnessCache;
+    /**
+     * Background archiving of sketched generations, started on first use.
+     */
+    private transient volatile ArchivePipeline archivePipeline;
+    /**
+     * Per-generation timing and counters, registered as MXBean on first use.
+     */
+    private transient volatile ComposerMetrics metrics;
 
     public boolean ARCHIVE_TO_DISK = true;
+    /**
+     * Record only scores and sizes of generations in the ScoreArchive,
+     * neither in memory nor on disk, so that long runs keep a flat heap.
+     */
+    public boolean ARCHIVE_SCORES_ONLY = false;
     public static final int SELECT_FROM_ALL = 0, SELECT_ONLY_COMPLETED = 1;
     public static final int DRAWTYPE_SCATTERPLOT = 0,
             DRAWTYPE_AVERAGELINECHART = 1,
@@ -107,9 +165,11 @@ public class Composer extends Population<Composition> implements Serializable {
             Style... styles) throws Exception {
 
         super(id);
+        this.random = new SplitRandom();
         setup(size, aim, logState, styles);
         this.readArchive();
         this.setGenCount(this.getArchive().size());
+        this.scoreArchive = this.rebuildScoreArchive();
     }
 
     /**
@@ -134,18 +194,50 @@ public class Composer extends Population<Composition> implements Serializable {
             double threshold, double conserve_score, Style... styles)
             throws Exception {
 
+        this(size, aim, logState, threshold, conserve_score,
+                new SplitRandom(), styles);
+    }
+
+    /**
+     * Constructor for a reproducible run: the same seed with the same
+     * parameters produces the same run.
+     *
+     * @param size
+     * @param aim
+     * @param logState
+     * @param threshold
+     * @param conserve_score
+     * @param seed seed of the root random generator.
+     * @param styles
+     * @throws Exception
+     */
+    public Composer(int size, ComposerAim aim, LogState logState,
+            double threshold, double conserve_score, long seed, Style... styles)
+            throws Exception {
+
+        this(size, aim, logState, threshold, conserve_score,
+                new SplitRandom(seed), styles);
+        getLog().log(Level.INFO, "Composer seeded: seed = {0}", seed);
+    }
+
+    private Composer(int size, ComposerAim aim, LogState logState,
+            double threshold, double conserve_score, SplitRandom random,
+            Style... styles) throws Exception {
+
+        this.random = random;
         setup(size, aim, logState, styles);
-        getLogger().log(Level.INFO,
+        getLog().log(Level.INFO,
                 "Initializing Composition Population...");
-        this.setPopulation(Stream.generate(() -> compositionFactory.newInstance())
-                .limit(size)
-                .peek(c -> c.addDebugMsg("Initialization..."))
-                .collect(Collectors.toList()));
-        getLogger().log(Level.INFO,
+        this.setPopulation(SplitRandom.callWith(random,
+                () -> Stream.generate(() -> compositionFactory.newInstance())
+                        .limit(size)
+                        .peek(c -> c.addDebugEvent(DebugEvent.Populated))
+                        .collect(Collectors.toList())));
+        getLog().log(Level.INFO,
                 "Composer created: size = {0}, aim = {1}, styles = {2}",
-                new Object[]{size, aim, this.styles.stream()
+                size, aim, this.styles.stream()
                             .map(style -> style.getClass().getSimpleName())
-                            .collect(Collectors.joining(", "))});
+                            .collect(Collectors.joining(", ")));
         this.threshold = threshold;
         this.conserve_score = conserve_score;
     }
@@ -155,73 +247,249 @@ public class Composer extends Population<Composition> implements Serializable {
 
         this.size = size;
         this.aim = aim;
+        this.logState = logState;
 
         setFileHandler(logState, getLogger());
-        getLogger().log(Level.INFO,
+        getLog().log(Level.INFO,
                 "Initilizing Composer [{0}]", this.getId());
         this.styles = new ArrayList<>(Arrays.asList(styles));
-        this.init = mm -> {
+        this.init = initializer(this.styles);
+        setupFactories();
+    }
+
+    private static Consumer<MusicMaterial> initializer(List<Style> styles) {
+
+        return mm -> {
             for (Style style : styles) {
                 style.matInitializer(mm);
             }
         };
-        getLogger().log(Level.INFO,
+    }
+
+    private void setupFactories() {
+
+        getLog().log(Level.INFO,
                 "Initializing ConnectorFactory...");
         Composer.connectorfactory = ConnectorFactory.getInstance();
-        getLogger().log(Level.INFO,
+        getLog().log(Level.INFO,
                 "Initializing CompositionFactory...");
         Composer.compositionFactory = CompositionFactory.getInstance(this);
-        getLogger().log(Level.INFO,
+        getLog().log(Level.INFO,
                 "Initializing SketchNodeFactory...");
         Composer.sketchNodeFactory = SketchNodeFactory.getInstance();
     }
 
+    /**
+     * Read archived generations from generation archive files, or from
+     * serialized Compositions of runs archived before them. Generation archive
+     * files are memory-mapped and each Composition is decoded on first access.
+     */
     public void readArchive() {
 
-        this.readArchive(Path.of(SER_PATH, this.getId()));
-        this.getArchive().stream()
-                .forEach(list
-                        -> list.stream()
-                        .peek(c -> c.setComposer(this))
-                        .forEach(Composition::updateEval));
+        this.flushArchive();
+        var folder = Path.of(SER_PATH, this.getId());
+        MappedArchive mapped;
+        try {
+            mapped = MappedArchive.open(folder);
+        } catch (IOException ex) {
+            getLog().log(Level.SEVERE,
+                    "Error when opening Archive, folder = {0}", folder);
+            return;
+        }
+        if (mapped.isEmpty()) {
+            this.readArchive(folder);
+            this.getArchive().stream()
+                    .forEach(list
+                            -> list.stream()
+                            .peek(c -> c.setComposer(this))
+                            .forEach(Composition::updateEval));
+            return;
+        }
+        this.getArchive().clear();
+        for (int i = 0; i < mapped.size(); i++) {
+            try {
+                this.getArchive().add(mapped.getGeneration(i).asList(this));
+            } catch (IOException | UncheckedIOException ex) {
+                getLog().log(Level.SEVERE,
+                        "Error when reading Archive, generation {0}: {1}",
+                        i, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Open archived generation files of this Composer for reading scores and
+     * sizes without decoding Compositions.
+     *
+     * @return the archive.
+     * @throws IOException
+     */
+    public MappedArchive openArchive() throws IOException {
+
+        this.flushArchive();
+        return MappedArchive.open(Path.of(SER_PATH, this.getId()));
     }
 
     public void save() {
 
-        var path = Path.of(SER_PATH, this.getId(), "Composer.ser");
-        try (var os = Files.newOutputStream(path);
-                var ois = new ObjectOutputStream(os)) {
-            ois.writeObject(this);
+        try {
+            this.checkpoint();
+        } catch (IOException ex) {
+            this.getLog().log(Level.SEVERE, "Error when saving Composer to {0}: {1}",
+                    checkpointOf(this.getId()), ex.getMessage());
+        }
+    }
+
+    /**
+     * Save population, conservatory, generation count and random generator
+     * state, once all sketched generations are archived, so that the run can
+     * be resumed from here. The checkpoint is written under a temporary name
+     * and renamed when complete, replacing the previous one only if whole.
+     * Generations archived in memory are not part of the checkpoint.
+     *
+     * @return the checkpoint file.
+     * @throws IOException
+     */
+    public Path checkpoint() throws IOException {
+
+        this.flushArchive();
+        var file = checkpointOf(this.getId());
+        Files.createDirectories(file.getParent());
+        var temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (var os = Files.newOutputStream(temp);
+                var oos = new ObjectOutputStream(new BufferedOutputStream(os))) {
+            oos.writeObject(this);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        getLog().log(Level.INFO,
+                "Composer checkpointed at Generation {0} to {1}",
+                this.getGenCount(), file);
+        return file;
+    }
+
+    /**
+     * Resume a run from its last checkpoint, logging as the run did. Archived
+     * generations beyond the checkpoint, left by the interrupted run, are
+     * discarded.
+     *
+     * @param id of the Composer.
+     * @return the Composer as checkpointed.
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    public static Composer resume(String id)
+            throws IOException, ClassNotFoundException {
+
+        Composer composer;
+        try (var is = Files.newInputStream(checkpointOf(id));
+                var ois = new ObjectInputStream(new BufferedInputStream(is))) {
+            composer = (Composer) ois.readObject();
+        }
+        for (var file : MappedArchive.list(Path.of(SER_PATH, id))) {
+            if (ArchiveFormat.generationOf(file) >= composer.getGenCount()) {
+                Files.delete(file);
+            }
+        }
+        composer.getLog().log(Level.INFO,
+                "Composer resumed at Generation {0}", composer.getGenCount());
+        return composer;
+    }
+
+    private static Path checkpointOf(String id) {
+
+        return Path.of(SER_PATH, id, "Composer.ser");
+    }
+
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+
+        in.defaultReadObject();
+        try {
+            setFileHandler(Objects.requireNonNullElse(this.logState,
+                    LogState.DISABLED), getLogger());
+        } catch (IOException ex) {
+            throw ex;
         } catch (Exception ex) {
-            this.getLogger().log(Level.SEVERE, "Error when saving Composer to {0}", path);
+            throw new IOException(ex);
         }
+        this.init = initializer(this.styles);
+        this.getPopulation().forEach(c -> c.setComposer(this));
+        this.conservatory.keySet().forEach(c -> c.setComposer(this));
+        setupFactories();
     }
 
     public Composer sketch() {
 
-        if (ARCHIVE_TO_DISK) {
-            archive(Path.of(SER_PATH, this.getId(), "" + this.getGenCount()), this.getPopulation());
+        SplitRandom.runWith(this.random, this::sketchGeneration);
+        return this;
+    }
+
+    private void sketchGeneration() {
+
+        var metrics = this.getMetrics();
+        metrics.beginGeneration(this.getGenCount());
+        this.getPopulation().forEach(Composition::updateEval);
+        long start = metrics.start();
+        this.getScoreArchive().record(this.getGenCount(),
+                this.getPopulation().stream()
+                        .mapToDouble(this::getMinScore)
+                        .toArray(),
+                this.getPopulation().stream()
+                        .mapToInt(Composition::getSize)
+                        .toArray());
+        if (ARCHIVE_SCORES_ONLY) {
+            getLog().log(Level.INFO,
+                    "Scores of Generation {0} archived.", this.getGenCount());
+        } else if (ARCHIVE_TO_DISK) {
+            var snapshot = GenerationSnapshot.of(this.getGenCount(),
+                    this.getPopulation(), this.styles);
+            var folder = Path.of(SER_PATH, this.getId());
+            this.getArchivePipeline().submit(() -> {
+                try {
+                    var file = GenerationWriter.write(folder, snapshot);
+                    getLog().log(Level.INFO,
+                            "Generation {0} archived to {1}",
+                            snapshot.getGeneration(), file);
+                } catch (IOException ex) {
+                    getLog().log(Level.SEVERE,
+                            "Error when archiving Generation {0} to {1}: {2}",
+                            snapshot.getGeneration(), folder, ex.getMessage());
+                }
+            });
         } else {
-            this.archive(compositionFactory);
+            var snapshot = GenerationSnapshot.of(this.getGenCount(),
+                    this.getPopulation(), this.styles);
+            this.getArchivePipeline().submit(() -> {
+                super.getArchive().add(snapshot.restore(this));
+                getLog().log(Level.INFO,
+                        "{0} Individuals archived as Generation {1}.",
+                        snapshot.getEntries().size(), snapshot.getGeneration());
+            });
         }
+        metrics.record(Phase.Archive, start);
 
-        var num_elongated = this.getPopulation().stream()
+        var population = this.getPopulation();
+        var randoms = this.splitRandoms(population.size());
+        var num_elongated = IntStream.range(0, population.size())
                 .parallel()
-                .filter(this::toBeElongated)
-                .peek(c -> getLogger().log(Level.INFO, "Composition {0} been elongated.", c.getId_prefix()))
+                .filter(i -> SplitRandom.callWith(randoms.get(i),
+                () -> this.toBeElongated(population.get(i))))
+                .mapToObj(population::get)
+                .peek(c -> getLog().log(Level.INFO, "Composition {0} been elongated.", c.getId_prefix()))
                 .sequential()
                 .collect(Collectors.counting());
-        getLogger().log(Level.INFO,
+        getLog().log(Level.INFO,
                 "Composing, totally {0} Compositions been elongated.", num_elongated);
 
         int original = this.getSize();
         this.getPopulation().removeIf(this::conserve);
         if (original - this.getSize() > 0) {
-            getLogger().log(Level.INFO,
+            getLog().log(Level.INFO,
                     "Composing, {0} Composition(s) conserved.",
                     original - this.getSize());
         }
-        return this;
+        this.resetSelectionIndexes();
     }
 
     /**
@@ -234,7 +502,7 @@ public class Composer extends Population<Composition> implements Serializable {
      */
     private boolean toBeElongated(Composition c) {
 
-        if (aim.isCompleted(c) && Math.random()
+        if (aim.isCompleted(c) && SplitRandom.current().nextDouble()
                 >= Math.pow(CHANCE_ELONGATION_IF_COMPLETED.getDouble(),
                         c.getSize() - this.getAim().getAimSize() - 1)) {
             return false;
@@ -246,20 +514,30 @@ public class Composer extends Population<Composition> implements Serializable {
     @Override
     public void evolve() {
 
-        getLogger().log(Level.INFO,
+        SplitRandom.runWith(this.random, this::evolveGeneration);
+    }
+
+    private void evolveGeneration() {
+
+        this.getMetrics().beginGeneration(this.getGenCount());
+        getLog().log(Level.INFO,
                 "Evolving from {0} parents.", this.getPopulationSize());
-        var children = Stream.generate(this::getChild)
-                .parallel()
-                .filter(c -> !this.conserve(c))
-                .limit(size)
-                .sequential()
-                .collect(Collectors.toList());
-        getLogger().log(Level.INFO,
-                "Evloving finished, gen = {0}, size = {1}, {2}",
-                new Object[]{this.getGenCount(),
-                    children.size(),
-                    getSummary(children)});
+        this.getSelectionIndexes();
+        var children = new ArrayList<Composition>(size);
+        while (children.size() < size) {
+            children.addAll(this.splitRandoms(size - children.size())
+                    .parallelStream()
+                    .map(r -> SplitRandom.callWith(r, this::getUnconservedChild))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
+        }
+        if (getLog().isLoggable(Level.INFO)) {
+            getLog().log(Level.INFO,
+                    "Evloving finished, gen = {0}, size = {1}, {2}",
+                    this.getGenCount(), children.size(), getSummary(children));
+        }
         this.setPopulation(children);
+        this.getMetrics().endGeneration(this.getGenCount());
         this.genCountIncrement();
     }
 
@@ -272,6 +550,29 @@ public class Composer extends Population<Composition> implements Serializable {
                 .collect(Collectors.joining(", "));
     }
 
+    /**
+     * Split root random generator into independent generators, one for each
+     * task to be run in parallel. Splitting is sequential, so a run is
+     * reproducible regardless of the order in which the tasks are executed.
+     *
+     * @param n number of generators.
+     * @return list of generators.
+     */
+    private List<SplitRandom> splitRandoms(int n) {
+
+        return Stream.generate(this.random::split)
+                .limit(n)
+                .collect(Collectors.toList());
+    }
+
+    private Composition getUnconservedChild() {
+
+        var child = this.getChild();
+        boolean conserved = this.conserve(child);
+        this.getMetrics().countChild(conserved);
+        return conserved ? null : child;
+    }
+
     /**
      * Get child via mutation or crossover.
      *
@@ -286,7 +587,7 @@ public class Composer extends Population<Composition> implements Serializable {
          */
         var p0 = select(SELECT_FROM_ALL, this.threshold);
         if (this.getAim().isCompleted(p0)
-                && Math.random() < CHANCE_CROSSOVER_IF_COMPLETED.getDouble()) {
+                && SplitRandom.current().nextDouble() < CHANCE_CROSSOVER_IF_COMPLETED.getDouble()) {
             var p1 = this.select(SELECT_ONLY_COMPLETED, this.threshold);
             if (!Objects.equals(p0, p1)) {
                 return this.crossover(p0, p1);
@@ -297,72 +598,82 @@ public class Composer extends Population<Composition> implements Serializable {
 
     public Composition mutate(Composition origin) {
 
+        long start = this.getMetrics().start();
         var mutant = compositionFactory.forMutation(origin);
-        getLogger().log(Level.INFO,
+        getLog().log(Level.INFO,
                 "Composition {0} being duplicated to {1} for mutation.",
-                new Object[]{origin.getId_prefix(), mutant.getId_prefix()});
-        int selected = new Random().nextInt(mutant.getSize() - 1);
+                origin.getId_prefix(), mutant.getId_prefix());
+        int selected = SplitRandom.current().nextInt(mutant.getSize() - 1);
         var type = MutationType.getRandom();
         switch (type) {
             case Alteration:
-                mutant.getConnectors().set(selected,
+                mutant.setConnector(selected,
                         connectorfactory.newConnector());
                 break;
             case Insertion:
                 if (!this.getAim().isCompleted(origin)) {
-                    mutant.getConnectors().add(selected,
+                    mutant.insertConnector(selected,
                             connectorfactory.newConnector());
                     break;
                 }
                 type = Deletion;
             case Deletion:
-                mutant.getConnectors().remove(selected);
+                mutant.removeConnector(selected);
                 break;
         }
-        boolean reseeding = Math.random() < CHANCE_RESEEDING.getDouble();
+        boolean reseeding = SplitRandom.current().nextDouble() < CHANCE_RESEEDING.getDouble();
         if (reseeding) {
             mutant.resetSeed(sketchNodeFactory.newInstance(init));
         }
-        getLogger().log(Level.INFO,
-                "Mutation, mutant: {0}, type: {1}, loci: {2}, reseed = {3}, length: {4} -> {5}",
-                new Object[]{
+        if (getLog().isLoggable(Level.INFO)) {
+            getLog().log(Level.INFO,
+                    "Mutation, mutant: {0}, type: {1}, loci: {2}, reseed = {3}, length: {4} -> {5}",
                     mutant.getId_prefix(),
                     type, selected,
                     origin.getSize(),
                     reseeding,
-                    mutant.getSize()});
+                    mutant.getSize());
+        }
+        this.getMetrics().record(Phase.Mutate, start);
         return mutant;
     }
 
     public Composition crossover(Composition p0, Composition p1) {
 
+        long start = this.getMetrics().start();
         int index = 1;
         var child = compositionFactory.forCrossover(
                 p0.getConnectors().get(0),
                 this.styles);
 
-        getLogger().log(Level.INFO,
+        getLog().log(Level.INFO,
                 "Composition {0} being transformed to {1} for crossover.",
-                new Object[]{p0.getId_prefix(), child.getId_prefix()});
-        String crossover_state = "X";
+                p0.getId_prefix(), child.getId_prefix());
+        boolean logging = getLog().isLoggable(Level.INFO);
+        var crossover_state = logging ? new StringBuilder("X") : null;
         do {
-            var activated = new Random().nextBoolean()
+            var activated = SplitRandom.current().nextBoolean()
                     ? ((p0.getSize() - 1 > index) ? p0 : p1)
                     : ((p1.getSize() - 1 > index) ? p1 : p0);
             child.addConnector(connectorfactory
                     .forMutation(activated.getConnectors().get(index)));
-            crossover_state += (Objects.equals(activated, p0)) ? "X" : "Y";
+            if (logging) {
+                crossover_state.append(Objects.equals(activated, p0) ? "X" : "Y");
+            }
         } while (++index < Math.max(p0.getSize() - 1, p1.getSize() - 1));
-        getLogger().log(Level.INFO,
-                "Crossover, [{0}, {1}] -> {2} = {3}", new Object[]{
+        if (logging) {
+            getLog().log(Level.INFO,
+                    "Crossover, [{0}, {1}] -> {2} = {3}",
                     p0.getId_prefix(),
                     p1.getId_prefix(),
                     child.getId_prefix(),
-                    crossover_state});
-        boolean reseeding = Math.random() < CHANCE_RESEEDING.getDouble();
+                    crossover_state);
+        }
+        boolean reseeding = SplitRandom.current().nextDouble() < CHANCE_RESEEDING.getDouble();
         if (reseeding) {
             child.resetSeed(sketchNodeFactory.newInstance(init));
         }
+        this.getMetrics().record(Phase.Crossover, start);
         return child;
     }
 
@@ -372,24 +683,9 @@ public class Composer extends Population<Composition> implements Serializable {
         var subset = this.getPopulation().stream()
                 .filter(criteria)
                 .peek(Composition::updateEval)
-                .sorted((c1, c2) -> (int) (this.getMinScore(c2) - this.getMinScore(c1)))
-                .collect(Collectors.toList());
-        if (subset.isEmpty() || threshold > 1.0 || threshold < 0.0) {
-            return null;
-        }
-        int thresholdIndex = (int) ((subset.size() - 1) * threshold);
-        double std = this.getMinScore(subset.get(thresholdIndex));
-        var selectedSubset = subset.stream()
-                .filter(c -> this.getMinScore(c) >= std)
                 .collect(Collectors.toList());
-        /*
-        subsetsize = 100
-        threshold = 7.5
-        thresholdIndex = 100*7.5 = 75
-        filtered subset size = 25
-        subset.size - thresholdIndex = 25.
-         */
-        return selectedSubset.get(new Random().nextInt(selectedSubset.size()));
+        return new SelectionIndex<>(subset, this::getMinScore)
+                .select(threshold, SplitRandom.current());
     }
 
     /**
@@ -403,8 +699,209 @@ public class Composer extends Population<Composition> implements Serializable {
      */
     public Composition select(int state, double threshold) {
 
-        return select(c -> state == SELECT_FROM_ALL || this.getAim().isCompleted(c),
-                threshold);
+        long start = this.getMetrics().start();
+        var selected = this.getSelectionIndexes().get(state)
+                .select(threshold, SplitRandom.current());
+        this.getMetrics().record(Phase.Select, start);
+        return selected;
+    }
+
+    /**
+     * Get selection indexes of current generation, building them if the
+     * population has been changed since last built. All compositions are
+     * evaluated once here instead of in every selection.
+     *
+     * @return selection indexes, indexed by SELECT_FROM_ALL and
+     * SELECT_ONLY_COMPLETED.
+     */
+    public List<SelectionIndex<Composition>> getSelectionIndexes() {
+
+        var indexes = this.selectionIndexes;
+        if (Objects.isNull(indexes)) {
+            synchronized (this) {
+                indexes = this.selectionIndexes;
+                if (Objects.isNull(indexes)) {
+                    this.getPopulation().forEach(Composition::updateEval);
+                    indexes = List.of(
+                            new SelectionIndex<>(this.getPopulation(),
+                                    this::getMinScore),
+                            new SelectionIndex<>(this.getPopulation().stream()
+                                    .filter(this.getAim()::isCompleted)
+                                    .collect(Collectors.toList()),
+                                    this::getMinScore));
+                    this.selectionIndexes = indexes;
+                }
+            }
+        }
+        return indexes;
+    }
+
+    public FitnessCache getFitnessCache() {
+
+        var cache = this.fitnessCache;
+        if (Objects.isNull(cache)) {
+            synchronized (this) {
+                cache = this.fitnessCache;
+                if (Objects.isNull(cache)) {
+                    cache = new FitnessCache(FITNESS_CACHE_SIZE.getInt());
+                    this.fitnessCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Get scores and sizes of every generation sketched.
+     *
+     * @return the score archive, rebuilt from the archive for Composers saved
+     * without one.
+     */
+    public ScoreArchive getScoreArchive() {
+
+        var scores = this.scoreArchive;
+        if (Objects.isNull(scores)) {
+            synchronized (this) {
+                scores = this.scoreArchive;
+                if (Objects.isNull(scores)) {
+                    scores = this.rebuildScoreArchive();
+                    this.scoreArchive = scores;
+                }
+            }
+        }
+        return scores;
+    }
+
+    private ScoreArchive rebuildScoreArchive() {
+
+        var scores = new ScoreArchive();
+        MappedArchive mapped = null;
+        try {
+            mapped = this.openArchive();
+        } catch (IOException ex) {
+            getLog().log(Level.WARNING,
+                    "Error when opening Archive for scores: {0}", ex.getMessage());
+        }
+        if (Objects.nonNull(mapped) && !mapped.isEmpty()) {
+            for (int i = 0; i < mapped.size(); i++) {
+                var view = mapped.getGeneration(i);
+                scores.record(view.getGeneration(), view.getMinScores(this.getAim()),
+                        IntStream.range(0, view.size())
+                                .map(view::getNodeCount)
+                                .toArray());
+            }
+        } else {
+            var archive = this.getArchive();
+            for (int i = 0; i < archive.size(); i++) {
+                scores.record(i,
+                        archive.get(i).stream()
+                                .mapToDouble(this::getMinScore)
+                                .toArray(),
+                        archive.get(i).stream()
+                                .mapToInt(Composition::getSize)
+                                .toArray());
+            }
+        }
+        this.conservatory.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(e -> scores.recordConserved(e.getValue(), this.getMinScore(e.getKey())));
+        return scores;
+    }
+
+    private ArchivePipeline getArchivePipeline() {
+
+        var pipeline = this.archivePipeline;
+        if (Objects.isNull(pipeline)) {
+            synchronized (this) {
+                pipeline = this.archivePipeline;
+                if (Objects.isNull(pipeline)) {
+                    pipeline = new ArchivePipeline("Archive-" + this.getId_prefix(),
+                            ARCHIVE_QUEUE_SIZE.getInt(), getLogger());
+                    this.archivePipeline = pipeline;
+                }
+            }
+        }
+        return pipeline;
+    }
+
+    /**
+     * Wait until all sketched generations are archived.
+     */
+    public void flushArchive() {
+
+        var pipeline = this.archivePipeline;
+        if (Objects.nonNull(pipeline)) {
+            pipeline.flush();
+        }
+    }
+
+    /**
+     * Get metrics of this Composer, registering them as MXBean on first use.
+     *
+     * @return the metrics.
+     */
+    public ComposerMetrics getMetrics() {
+
+        var m = this.metrics;
+        if (Objects.isNull(m)) {
+            synchronized (this) {
+                m = this.metrics;
+                if (Objects.isNull(m)) {
+                    m = new ComposerMetrics(this.getId(), getLog());
+                    m.register();
+                    this.metrics = m;
+                }
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Release what this Composer holds outside of itself once a run is
+     * finished: complete archiving and stop the archiving thread, close
+     * metrics sinks and unregister the metrics MXBean. Archiving starts again
+     * if more generations are sketched; metrics keep counting but are no
+     * longer exposed.
+     */
+    public void close() {
+
+        ArchivePipeline pipeline;
+        synchronized (this) {
+            pipeline = this.archivePipeline;
+            this.archivePipeline = null;
+        }
+        if (Objects.nonNull(pipeline)) {
+            pipeline.close();
+        }
+        var m = this.metrics;
+        if (Objects.nonNull(m)) {
+            m.closeSinks();
+            m.unregister();
+        }
+    }
+
+    /**
+     * Get archived generations, once all sketched generations are archived.
+     *
+     * @return the archive.
+     */
+    @Override
+    public List<List<Composition>> getArchive() {
+
+        this.flushArchive();
+        return super.getArchive();
+    }
+
+    private void resetSelectionIndexes() {
+
+        this.selectionIndexes = null;
+    }
+
+    @Override
+    public void setPopulation(List<Composition> population) {
+
+        super.setPopulation(population);
+        this.resetSelectionIndexes();
     }
 
     /**
@@ -416,29 +913,43 @@ public class Composer extends Population<Composition> implements Serializable {
      */
     public boolean conserve(Composition c) throws ConservationFailedException {
 
+        long start = this.getMetrics().start();
+        try {
+            return this.conserveIfQualified(c);
+        } finally {
+            this.getMetrics().record(Phase.Conserve, start);
+        }
+    }
+
+    private boolean conserveIfQualified(Composition c) throws ConservationFailedException {
+
         if (!this.getAim().isCompleted(c)) {
             return false;
         }
         c.getRenderedChecked(this.getClass().getSimpleName() + "::conserve");
-        c.addDebugMsg("under conservation check.");
-        if (getMinScore(c) < conserve_score) {
-            c.addDebugMsg("fail conservation check: " + simpleScoreOutput(c));
+        c.addDebugEvent(DebugEvent.ConservationCheck);
+        double minScore = getMinScore(c);
+        if (minScore < conserve_score) {
+            c.addDebugEvent(DebugEvent.ConservationFailed, minScore);
             return false;
         }
-        c.addDebugMsg("pass conservation check: " + simpleScoreOutput(c));
-        getLogger().log(Level.INFO, "Qualified Composition been located: {0}",
-                simpleScoreOutput(c));
-        getLogger().log(Level.INFO,
+        c.addDebugEvent(DebugEvent.ConservationPassed, minScore);
+        if (getLog().isLoggable(Level.INFO)) {
+            getLog().log(Level.INFO, "Qualified Composition been located: {0}",
+                    simpleScoreOutput(c));
+        }
+        getLog().log(Level.INFO,
                 "Composition {0} being duplicated for conservation.",
                 c.getId_prefix());
         Composition dupe = compositionFactory.forArchiving(c);
         if (Objects.nonNull(this.conservatory.put(dupe, this.getGenCount()))) {
-            getLogger().log(Level.WARNING,
+            getLog().log(Level.WARNING,
                     "Conserving with an Id already existing in conservatory: {0}",
                     c.getId_prefix());
         }
         if (this.conservatory.containsKey(dupe)) {
-            getLogger().log(Level.INFO,
+            this.getScoreArchive().recordConserved(this.getGenCount(), minScore);
+            getLog().log(Level.INFO,
                     "Composition {0} been conserved.",
                     c.getId_prefix());
         } else {
@@ -451,7 +962,7 @@ public class Composer extends Population<Composition> implements Serializable {
     @Override
     public void draw(int type) {
 
-        getLogger().log(Level.INFO, "Drawing Composer {0}", this.getId());
+        getLog().log(Level.INFO, "Drawing Composer {0}", this.getId());
         switch (type) {
             case 0:
                 drawScatterPlot();
@@ -468,36 +979,27 @@ public class Composer extends Population<Composition> implements Serializable {
     public void drawCombinedChart() {
 
         var chart = new CombinedChart_AWT("Composer " + this.getId());
-        var list = new ArrayList<Composition>();
-        var avgs = IntStream.range(0, this.getArchive().size())
+        var scores = this.getScoreArchive();
+        var avgs = IntStream.range(0, scores.size())
                 .boxed()
-                .peek(i -> {
-                    list.clear();
-                    list.addAll(this.getArchive().get(i));
-                    list.addAll(this.conservatory.entrySet().stream()
-                            .filter(e -> e.getValue().equals(i))
-                            .map(e -> e.getKey())
-                            .collect(Collectors.toList()));
-                })
                 .collect(Collectors.toMap(
                         Function.identity(),
-                        i -> list.stream()
-                                /*...*/.mapToDouble(this::getMinScore)
+                        i -> DoubleStream.concat(
+                                DoubleStream.of(scores.getMinScores(i)),
+                                DoubleStream.of(scores.getConservedScores(i)))
                                 /*...*/.filter(score -> score > 0.0)
                                 /*...*/.average().orElse(0.0)));
 
         var xys = new HashMap<Integer, List<Double>>();
         var xyc = new HashMap<Integer, List<Double>>();
-        IntStream.range(0, this.getArchive().size())
+        IntStream.range(0, scores.size())
                 .forEach(i -> {
-                    xys.put(i, this.getArchive().get(i).stream()
-                            .map(this::getMinScore)
+                    xys.put(i, DoubleStream.of(scores.getMinScores(i))
                             .filter(score -> score > 0.0)
+                            .boxed()
                             .collect(Collectors.toList()));
-                    xyc.put(i, this.getConservatory().entrySet().stream()
-                            .filter(e -> e.getValue() == i)
-                            .map(e -> e.getKey())
-                            .map(this::getMinScore)
+                    xyc.put(i, DoubleStream.of(scores.getConservedScores(i))
+                            .boxed()
                             .collect(Collectors.toList()));
                 });
         double dotSize0 = 3.0;
@@ -531,12 +1033,12 @@ public class Composer extends Population<Composition> implements Serializable {
 
         var chart = new LineChart_AWT("Composer " + this.getId());
         LineChart_AWT chartStat = new LineChart_AWT("Composer " + this.getId());
-        IntStream.range(0, this.getArchive().size())
+        var scores = this.getScoreArchive();
+        IntStream.range(0, scores.size())
                 .forEach(i -> {
-                    List<Composition> list = this.getArchive().get(i);
-                    List<Double> values = list.stream()
-                            .map(this::getMinScore)
+                    List<Double> values = DoubleStream.of(scores.getMinScores(i))
                             .filter(score -> score > 0.0)
+                            .boxed()
                             .collect(Collectors.toList());
                     chart.addData(values, "average", "" + i);
                     chartStat.addStatData(values, "score", "" + i);
@@ -555,16 +1057,18 @@ public class Composer extends Population<Composition> implements Serializable {
     public void drawScatterPlot() {
 
         var plot = new ScatterPlot_AWT("Composer " + this.getId());
-        var popScores = IntStream.range(0, this.getArchive().size())
+        var scores = this.getScoreArchive();
+        var popScores = IntStream.range(0, scores.size())
                 .mapToObj(i
-                        -> this.getArchive().get(i).stream()
-                        .map(this::getMinScore).filter(score -> score > 0.0)
-                        .map(score -> new SimpleEntry<>(i, score)))
+                        -> DoubleStream.of(scores.getMinScores(i))
+                        .filter(score -> score > 0.0)
+                        .mapToObj(score -> new SimpleEntry<>(i, score)))
                 .flatMap(s -> s)
                 .collect(Collectors.toList());
         plot.addSeries("Population", popScores);
-        List<SimpleEntry<Integer, Double>> conserveScores = this.getConservatory().entrySet().stream()
-                .map(e -> new SimpleEntry<>(e.getValue(), this.getMinScore(e.getKey())))
+        List<SimpleEntry<Integer, Double>> conserveScores = IntStream.range(0, scores.getConservedCount())
+                .mapToObj(i -> new SimpleEntry<>(scores.getConservedGeneration(i),
+                scores.getConservedScore(i)))
                 .collect(Collectors.toList());
         plot.addSeries("Conservatory", conserveScores);
         plot.createScatterPlot("Evolutionary Computation",
@@ -19,6 +19,8 @@ import tech.metacontext.ec.prototype.composer.styles.Style;
 import tech.metacontext.ec.prototype.abs.*;
 import tech.metacontext.ec.prototype.composer.*;
 import tech.metacontext.ec.prototype.composer.factory.*;
+import tech.metacontext.ec.prototype.composer.enums.DebugEvent;
+import tech.metacontext.ec.prototype.composer.metrics.Phase;
 import static tech.metacontext.ec.prototype.composer.Settings.*;
 import static tech.metacontext.ec.prototype.composer.Parameters.*;
 import java.io.File;
@@ -28,7 +30,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.OptionalInt;
@@ -66,9 +69,28 @@ public class Composition extends Individual<CompositionEval> implements Serializ
 
     private static ConnectorFactory connectorFactory = ConnectorFactory.getInstance();
     private static SketchNodeFactory sketchNodeFactory = SketchNodeFactory.getInstance();
-    private LinkedList<Connector> connectors;
-    private LinkedList<SketchNode> rendered;
+    /**
+     * Connectors, possibly shared with the composition this one was
+     * duplicated from. A shared Connector is replaced by a copy before being
+     * relinked, see ownConnector(int).
+     */
+    private ArrayList<Connector> connectors;
+    /**
+     * Unmodifiable snapshot of rendered nodes, replaced as a whole by render()
+     * and shared by compositions inheriting it.
+     */
+    private List<SketchNode> rendered;
     private SketchNode seed;
+    /**
+     * Index of the first connector whose next node has to be rendered again.
+     * Nodes in rendered up to this index remain valid.
+     */
+    private int dirtyIndex;
+    /**
+     * Incremented whenever rendered nodes are replaced, for CompositionEval to
+     * tell whether its scores are still valid.
+     */
+    private long version;
     private transient Composer composer;
 
     /**
@@ -97,12 +119,11 @@ public class Composition extends Individual<CompositionEval> implements Serializ
     public void setup(Composer composer) {
 
         this.composer = composer;
-        this.rendered = new LinkedList<>();
-        this.connectors = new LinkedList<>();
+        this.rendered = List.of();
+        this.connectors = new ArrayList<>();
+        this.dirtyIndex = 0;
         this.setEval(new CompositionEval(composer.getStyles()));
-        //for debugging
-        this.debug = new ArrayList<>();
-        this.addDebugMsg("Initilization completed.");
+        this.addDebugEvent(DebugEvent.Initialized);
     }
 
     public void elongate() {
@@ -112,70 +133,198 @@ public class Composition extends Individual<CompositionEval> implements Serializ
 
     public void addConnector(Connector connector) {
 
+        connector.claim(this);
+        this.markDirty(this.connectors.size());
+        this.connectors.add(connector);
+    }
+
+    /**
+     * Add a connector owned by another composition, without duplicating it.
+     * It is copied only if this composition has to render it again.
+     *
+     * @param connector
+     */
+    public void addSharedConnector(Connector connector) {
+
+        this.markDirty(this.connectors.size());
         this.connectors.add(connector);
     }
 
+    /**
+     * Get the connector at specified index for relinking, replacing it with a
+     * copy of its own if it is shared.
+     *
+     * @param index
+     * @return the connector owned by this composition.
+     */
+    private Connector ownConnector(int index) {
+
+        var conn = this.connectors.get(index);
+        if (!conn.isOwnedBy(this)) {
+            conn = connectorFactory.forInheritance(conn);
+            conn.claim(this);
+            this.connectors.set(index, conn);
+        }
+        return conn;
+    }
+
+    /**
+     * Replace the connector at specified index. Nodes rendered before it are
+     * kept.
+     *
+     * @param index
+     * @param connector
+     */
+    public void setConnector(int index, Connector connector) {
+
+        connector.claim(this);
+        this.markDirty(index);
+        this.connectors.set(index, connector);
+    }
+
+    /**
+     * Insert a connector at specified index. Nodes rendered before it are
+     * kept.
+     *
+     * @param index
+     * @param connector
+     */
+    public void insertConnector(int index, Connector connector) {
+
+        connector.claim(this);
+        this.markDirty(index);
+        this.connectors.add(index, connector);
+    }
+
+    /**
+     * Remove the connector at specified index. Nodes rendered before it are
+     * kept.
+     *
+     * @param index
+     */
+    public void removeConnector(int index) {
+
+        this.markDirty(index);
+        this.connectors.remove(index);
+    }
+
+    private void markDirty(int index) {
+
+        this.dirtyIndex = Math.min(this.dirtyIndex, index);
+    }
+
+    /**
+     * Take over nodes rendered by another composition with the same
+     * connectors, such as the origin of a mutant. Only the nodes matching the
+     * connectors of this composition are kept, the rest are rendered again
+     * when needed.
+     *
+     * @param origin nodes rendered by the other composition.
+     */
+    public void inheritRendered(List<SketchNode> origin) {
+
+        this.dirtyIndex = 0;
+        if (origin.isEmpty() || !Objects.equals(origin.get(0), this.seed)) {
+            this.rendered = List.of();
+            return;
+        }
+        this.rendered = origin;
+        this.version++;
+        while (this.dirtyIndex < this.connectors.size()
+                && this.dirtyIndex + 1 < origin.size()) {
+            var conn = this.connectors.get(this.dirtyIndex);
+            if (!Objects.equals(conn.getPrevious(), origin.get(this.dirtyIndex))
+                    || !Objects.equals(conn.getNext(), origin.get(this.dirtyIndex + 1))) {
+                break;
+            }
+            this.dirtyIndex++;
+        }
+    }
+
+    /**
+     * Render nodes from the first changed connector on, reusing the nodes
+     * rendered before it. A composition rendered from its seed has a chance of
+     * being reseeded first.
+     *
+     * @return rendered nodes.
+     */
     public List<SketchNode> render() {
 
-        rendered.clear();
-        if (Objects.isNull(seed) || Math.random() < CHANCE_RESEEDING.getDouble()) {
+        var metrics = this.composer.getMetrics();
+        long start = metrics.start();
+        if (this.dirtyIndex == 0 && (Objects.isNull(seed)
+                || SplitRandom.current().nextDouble() < CHANCE_RESEEDING.getDouble())) {
             resetSeed(sketchNodeFactory.newInstance(this.composer.getInit()));
         }
-        rendered.add(seed);
-        var previous = new Wrapper<>(seed);
-        /*
-        1. conn.setPrevious(previous.get())
-        2. previous.set(conn.transform())
-        3. return conn.getNext()
-         */
-        rendered.addAll(this.getConnectors().stream()
-                .peek(conn -> conn.setPrevious(previous.get()))
-                .map(Connector::transform)
-                .map(previous::set)
-                .collect(Collectors.toList())
-        );
-        return rendered;
+        var nodes = new SketchNode[this.getSize()];
+        if (this.dirtyIndex == 0) {
+            nodes[0] = seed;
+        } else {
+            for (int i = 0; i <= this.dirtyIndex; i++) {
+                nodes[i] = rendered.get(i);
+            }
+        }
+        for (int i = this.dirtyIndex; i < this.connectors.size(); i++) {
+            var conn = this.ownConnector(i);
+            conn.setPrevious(nodes[i]);
+            nodes[i + 1] = conn.transform();
+        }
+        this.rendered = Collections.unmodifiableList(Arrays.asList(nodes));
+        this.dirtyIndex = this.connectors.size();
+        this.version++;
+        metrics.record(Phase.Render, start);
+        metrics.countRender();
+        return this.rendered;
     }
 
     public List<SketchNode> getRenderedChecked(String request) {
 
-        composer.getLogger().log(Level.INFO,
+        composer.getLog().log(Level.INFO,
                 "{0}: getRenderedChecked, request from {1}",
-                new Object[]{this.getId_prefix(), request});
+                this.getId_prefix(), request);
         if (this.ifReRenderRequired()) {
             this.render();
             updateEval();
         }
-        return this.rendered;
+        return this.getRendered();
     }
 
     public boolean ifReRenderRequired() {
 
         if (this.rendered.isEmpty()) {
-            composer.getLogger().log(Level.INFO,
+            composer.getLog().log(Level.INFO,
                     "Not rendered yet, rendering required for Composition {0}.",
                     this.getId_prefix());
+            this.markDirty(0);
             return true;
         }
-        if (!Objects.equals(this.connectors.getFirst().getPrevious(), this.seed)) {
-            composer.getLogger().log(Level.INFO,
+        if (this.dirtyIndex < this.connectors.size()
+                || this.rendered.size() > this.dirtyIndex + 1) {
+            composer.getLog().log(Level.INFO,
+                    "Connectors changed from {0}, rerendering required for Composition {1}.",
+                    this.dirtyIndex, this.getId_prefix());
+            return true;
+        }
+        if (!Objects.equals(this.connectors.get(0).getPrevious(), this.seed)) {
+            composer.getLog().log(Level.INFO,
                     "Seed mismatched, rerendering required for Composition {0}.",
                     this.getId_prefix());
+            this.markDirty(0);
             return true;
         }
         if (this.rendered.size() != this.getSize()) {
-            composer.getLogger().log(Level.INFO,
-                    "Size mismatched: {0} to {1}, rerendering required for Composition {2}.", new Object[]{
-                        this.rendered.size(),
-                        this.getSize(),
-                        this.getId_prefix()});
+            composer.getLog().log(Level.INFO,
+                    "Size mismatched: {0} to {1}, rerendering required for Composition {2}.",
+                    this.rendered.size(), this.getSize(), this.getId_prefix());
+            this.markDirty(0);
             return true;
         }
         if (this.connectors.stream().anyMatch(conn
                 -> Objects.isNull(conn.getPrevious()) || Objects.isNull(conn.getNext()))) {
-            composer.getLogger().log(Level.INFO,
+            composer.getLog().log(Level.INFO,
                     "Connector without connected SketchNode found, rerendering required for Composition {0}.",
                     this.getId_prefix());
+            this.markDirty(0);
             return true;
         }
         OptionalInt mismatchIndex = IntStream.range(1, this.getSize())
@@ -185,23 +334,49 @@ public class Composition extends Individual<CompositionEval> implements Serializ
                         this.rendered.get(i)))
                 .findFirst();
         if (mismatchIndex.isPresent()) {
-            composer.getLogger().log(Level.INFO,
+            composer.getLog().log(Level.INFO,
                     "Mismatched SketchNodes at {0}, rerendering required for Composition {1}.",
-                    new Object[]{
-                        mismatchIndex.getAsInt(),
-                        this.getId_prefix()});
+                    mismatchIndex.getAsInt(), this.getId_prefix());
+            this.markDirty(mismatchIndex.getAsInt() - 1);
             return true;
         }
-        composer.getLogger().log(Level.FINE,
+        composer.getLog().log(Level.FINE,
                 "Rendered list remained consistant, no rerendering required for {0}.",
                 this.getId_prefix());
         return false;
     }
 
+    /**
+     * Rate the composition with all styles, unless it has not been rendered
+     * again since last rated. Scores of a material sequence already rated by
+     * the Composer are taken from its FitnessCache.
+     */
     public void updateEval() {
 
-        this.getEval().getStyles().stream()
-                .forEach(this::updateScore);
+        var metrics = this.composer.getMetrics();
+        if (this.ifReRenderRequired()) {
+            this.render();
+        } else {
+            metrics.countRenderHit();
+        }
+        if (this.getEval().getVersion() == this.version) {
+            return;
+        }
+        long start = metrics.start();
+        var cache = this.composer.getFitnessCache();
+        var key = FitnessCache.keyOf(this.getEval().getStyles(), this.rendered);
+        var cached = cache.get(key);
+        if (Objects.nonNull(cached)) {
+            this.getEval().getScores().putAll(cached);
+            metrics.countCacheHit();
+        } else {
+            this.getEval().getStyles().stream()
+                    .forEach(this::updateScore);
+            cache.put(key, this.getEval().getScores());
+            metrics.countScored();
+        }
+        this.getEval().setVersion(this.version);
+        metrics.record(Phase.Score, start);
     }
 
     public void updateScore(Style style) {
@@ -235,23 +410,23 @@ public class Composition extends Individual<CompositionEval> implements Serializ
             out.write(this.toString());
             out.flush();
         } catch (IOException ex) {
-            composer.getLogger().log(Level.SEVERE, "Failed to persist {0}. {1}", new Object[]{
-                this.getId_prefix(), ex.getMessage()});
+            composer.getLog().log(Level.SEVERE, "Failed to persist {0}. {1}",
+                    this.getId_prefix(), ex.getMessage());
         }
-        composer.getLogger().log(Level.INFO, "{0} has been persisted to {1}", new Object[]{
-            this.getId_prefix(),
-            destination.getFileName()});
+        composer.getLog().log(Level.INFO, "{0} has been persisted to {1}",
+                this.getId_prefix(), destination.getFileName());
         return destination;
     }
 
     public void resetSeed(SketchNode seed) {
 
-        if (Objects.equals(this.seed, seed) && this.connectors.getFirst().getPrevious().equals(seed)
+        if (Objects.equals(this.seed, seed) && this.connectors.get(0).getPrevious().equals(seed)
                 && this.rendered.size() == this.getSize()) {
             return;
         }
         this.seed = seed;
-        this.connectors.getFirst().setPrevious(seed);
+        this.ownConnector(0).setPrevious(seed);
+        this.markDirty(0);
     }
 
     @Override
@@ -286,11 +461,11 @@ public class Composition extends Individual<CompositionEval> implements Serializ
                 + this.getConnectors().stream()
                         .peek(c -> {
                             if (Objects.isNull(c.getPrevious())) {
-                                composer.getLogger().log(Level.WARNING,
+                                composer.getLog().log(Level.WARNING,
                                         "Null SketchNode found in {0}.getPrevious().", c.getId_prefix());
                             }
                             if (Objects.isNull(c.getNext())) {
-                                composer.getLogger().log(Level.WARNING,
+                                composer.getLog().log(Level.WARNING,
                                         "Null SketchNode found in {0}.getNext().", c.getId_prefix());
                             }
                         })
@@ -303,8 +478,8 @@ public class Composition extends Individual<CompositionEval> implements Serializ
     /*
      * Default setters and getters
      */
-    public LinkedList<Connector> getConnectors() {
-        return connectors;
+    public List<Connector> getConnectors() {
+        return Collections.unmodifiableList(connectors);
     }
 
     public SketchNode getSeed() {
@@ -313,23 +488,55 @@ public class Composition extends Individual<CompositionEval> implements Serializ
 
     public void setSeed(SketchNode seed) {
         this.seed = seed;
+        this.markDirty(0);
     }
 
     public List<SketchNode> getRendered() {
         return this.rendered;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     /*
-     * For debugging.
+     * For debugging. Created on first event, only if debug trails are enabled.
      */
-    private List<String> debug;
+    private volatile DebugTrail debug;
 
-    public void addDebugMsg(String msg) {
-        debug.add(msg);
+    public void addDebugEvent(DebugEvent event) {
+
+        this.addDebugEvent(event, Double.NaN);
+    }
+
+    /**
+     * Record an event in the debug trail, if enabled.
+     *
+     * @param event
+     * @param score related score, or NaN if none.
+     */
+    public void addDebugEvent(DebugEvent event, double score) {
+
+        if (!DebugTrail.isEnabled()) {
+            return;
+        }
+        var trail = this.debug;
+        if (Objects.isNull(trail)) {
+            synchronized (this) {
+                trail = this.debug;
+                if (Objects.isNull(trail)) {
+                    trail = new DebugTrail(DebugTrail.getCapacity());
+                    this.debug = trail;
+                }
+            }
+        }
+        trail.add(event, score, this.version);
     }
 
     public List<String> getDebug() {
-        return debug;
+
+        var trail = this.debug;
+        return Objects.isNull(trail) ? List.of() : trail.toMessages();
     }
 
     public Composer getComposer() {
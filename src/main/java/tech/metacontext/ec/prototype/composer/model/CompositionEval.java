@@ -18,7 +18,7 @@ package tech.metacontext.ec.prototype.composer.model;
 import java.io.Serializable;
 import tech.metacontext.ec.prototype.composer.styles.Style;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -30,20 +30,26 @@ import java.util.stream.Collectors;
 public class CompositionEval implements Serializable {
 
     private final Map<Style, Double> scores;
+    /**
+     * Version of the rendered Composition the scores were rated from, -1 if
+     * not rated yet. Not part of equality.
+     */
+    private long version = -1;
 
     public CompositionEval(Map<? extends Style, Double> scores) {
 
-        this.scores = new HashMap<>(scores);
+        this.scores = new LinkedHashMap<>(scores);
     }
 
     public CompositionEval(Collection<? extends Style> styles) {
 
-        this(styles.stream().collect(Collectors.toMap(s -> s, s -> 0.0)));
+        this(styles.stream().collect(Collectors.<Style, Style, Double, Map<Style, Double>>toMap(
+                s -> s, s -> 0.0, (s1, s2) -> s1, LinkedHashMap::new)));
     }
 
     public CompositionEval(CompositionEval eval) {
 
-        this.scores = new HashMap<>();
+        this.scores = new LinkedHashMap<>();
         eval.getScores().forEach(scores::put);
     }
 
@@ -93,4 +99,12 @@ public class CompositionEval implements Serializable {
     public Map<Style, Double> getScores() {
         return scores;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
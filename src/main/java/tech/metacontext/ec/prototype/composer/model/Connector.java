@@ -16,13 +16,12 @@
 package tech.metacontext.ec.prototype.composer.model;
 
 import tech.metacontext.ec.prototype.abs.Individual;
-import tech.metacontext.ec.prototype.composer.factory.SketchNodeFactory;
-import tech.metacontext.ec.prototype.composer.materials.MusicMaterial;
 import tech.metacontext.ec.prototype.composer.enums.*;
-import java.util.AbstractMap.SimpleEntry;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -38,47 +37,77 @@ public class Connector extends Individual {
         System.out.println(conn);
     }
 
-    private static SketchNodeFactory sketchNodeFactory;
+    private static final MaterialType[] MATERIAL_TYPES = MaterialType.values();
 
     private final Map<MaterialType, TransformType> transformTypes;
+    /**
+     * transformTypes compiled by MaterialType ordinal, null for a MaterialType
+     * not transformed. Rebuilt when a Connector is read.
+     */
+    private transient TransformType[] kernel;
     private SketchNode previous;
     private SketchNode next;
+    /**
+     * Composition allowed to relink this Connector when rendering. Other
+     * compositions sharing it take a copy first. Not serialized, so that a
+     * Connector read is copied before being relinked.
+     */
+    private transient Composition owner;
 
     public Connector() {
 
-        this.transformTypes = new HashMap<>();
-        sketchNodeFactory = SketchNodeFactory.getInstance();
-
+        this.transformTypes = new EnumMap<>(MaterialType.class);
+        this.kernel = new TransformType[MATERIAL_TYPES.length];
     }
 
     public Connector(String id) {
 
         super(id);
-        this.transformTypes = new HashMap<>();
-        sketchNodeFactory = SketchNodeFactory.getInstance();
+        this.transformTypes = new EnumMap<>(MaterialType.class);
+        this.kernel = new TransformType[MATERIAL_TYPES.length];
     }
 
     public void addTransformType(MaterialType mt, TransformType tt) {
 
         this.transformTypes.put(mt, tt);
+        this.kernel[mt.ordinal()] = tt;
+    }
+
+    /**
+     * Copy all TransformTypes of another Connector.
+     *
+     * @param origin
+     */
+    public void copyTransformTypes(Connector origin) {
+
+        this.transformTypes.putAll(origin.transformTypes);
+        System.arraycopy(origin.kernel, 0, this.kernel, 0, this.kernel.length);
     }
 
+    /**
+     * Transform previous SketchNode into next one, material by material in
+     * MaterialType declaration order.
+     *
+     * @return the next SketchNode, or null if there is no previous one.
+     */
     public SketchNode transform() {
 
         if (this.previous == null) {
             return null;
         }
-        this.next = sketchNodeFactory.newInstance();
-
-        Map<MaterialType, ? extends MusicMaterial> mats
-                = this.getTransformTypes().entrySet().stream()
-                        .map(e -> new SimpleEntry<>(e.getKey(), this.previous.getMat(e.getKey()).transform(e.getValue())))
-                        .collect(Collectors.toMap(SimpleEntry::getKey,
-                                SimpleEntry::getValue));
-        this.next.setMats(mats);
+        this.next = new SketchNode(mt -> (kernel[mt.ordinal()] == null)
+                ? null : this.previous.getMat(mt).transform(kernel[mt.ordinal()]));
         return this.next;
     }
 
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+
+        in.defaultReadObject();
+        this.kernel = new TransformType[MATERIAL_TYPES.length];
+        this.transformTypes.forEach((mt, tt) -> this.kernel[mt.ordinal()] = tt);
+    }
+
     @Override
     public String toString() {
 
@@ -91,6 +120,23 @@ public class Connector extends Individual {
                 + ((next == null) ? "" : "\n => " + next);
     }
 
+    boolean isOwnedBy(Composition composition) {
+
+        return this.owner == composition;
+    }
+
+    /**
+     * Claim this Connector for a composition, unless already owned.
+     *
+     * @param composition
+     */
+    void claim(Composition composition) {
+
+        if (this.owner == null) {
+            this.owner = composition;
+        }
+    }
+
     /*
      * Default setters and getters
      */
@@ -111,7 +157,7 @@ public class Connector extends Individual {
     }
 
     public Map<MaterialType, TransformType> getTransformTypes() {
-        return transformTypes;
+        return Collections.unmodifiableMap(transformTypes);
     }
 
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import tech.metacontext.ec.prototype.composer.enums.DebugEvent;
+
+/**
+ * Fixed-capacity ring of debug events of a Composition, keeping the latest
+ * ones. Events are stored as primitives and formatted only when read. The
+ * trail is disabled unless a capacity is set, in which case recording an
+ * event costs nothing but a check.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class DebugTrail implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Capacity of trails created from now on; 0 disables debug trails.
+     */
+    private static volatile int capacity = 0;
+
+    private final DebugEvent[] events;
+    private final double[] scores;
+    private final long[] versions;
+    private int next;
+    private int count;
+
+    /**
+     * Enable debug trails of Compositions.
+     *
+     * @param capacity maximum number of events kept by each Composition, or 0
+     * to disable.
+     */
+    public static void setCapacity(int capacity) {
+
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity = " + capacity);
+        }
+        DebugTrail.capacity = capacity;
+    }
+
+    public static int getCapacity() {
+
+        return capacity;
+    }
+
+    public static boolean isEnabled() {
+
+        return capacity > 0;
+    }
+
+    DebugTrail(int capacity) {
+
+        this.events = new DebugEvent[capacity];
+        this.scores = new double[capacity];
+        this.versions = new long[capacity];
+    }
+
+    /**
+     * Record an event, overwriting the oldest one if full.
+     *
+     * @param event
+     * @param score related score, or NaN if none.
+     * @param version render version of the Composition.
+     */
+    public synchronized void add(DebugEvent event, double score, long version) {
+
+        events[next] = event;
+        scores[next] = score;
+        versions[next] = version;
+        next = (next + 1) % events.length;
+        count = Math.min(count + 1, events.length);
+    }
+
+    public synchronized int size() {
+
+        return count;
+    }
+
+    /**
+     * Format the events kept, from the oldest.
+     *
+     * @return the messages.
+     */
+    public synchronized List<String> toMessages() {
+
+        var messages = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            int index = (next - count + i + events.length) % events.length;
+            messages.add(Double.isNaN(scores[index])
+                    ? String.format("%s (v%d)", events[index].getMessage(), versions[index])
+                    : String.format("%s: %.3f (v%d)", events[index].getMessage(),
+                            scores[index], versions[index]));
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import tech.metacontext.ec.prototype.composer.materials.MusicMaterial;
+import tech.metacontext.ec.prototype.composer.styles.Style;
+
+/**
+ * Bounded cache of Composition scores keyed by rendered materials and styles,
+ * so that compositions rendering the same material sequence are rated only
+ * once. Entries are spread over segments locked independently, so that
+ * scoring threads do not wait on one another; the least recently used entry
+ * of a segment is evicted when the segment is full.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class FitnessCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final int capacity;
+    private final List<Map<Key, Map<Style, Double>>> segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param capacity maximum number of cached scores, divided evenly among
+     * segments.
+     */
+    public FitnessCache(int capacity) {
+
+        this.capacity = capacity;
+        int segmentCapacity = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+        var list = new ArrayList<Map<Key, Map<Style, Double>>>(SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            list.add(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Map<Style, Double>> eldest) {
+
+                    return size() > segmentCapacity;
+                }
+            });
+        }
+        this.segments = List.copyOf(list);
+    }
+
+    /**
+     * Create the key of rendered nodes rated by specified styles.
+     *
+     * @param styles
+     * @param rendered
+     * @return the key.
+     */
+    public static Key keyOf(Collection<? extends Style> styles,
+            List<SketchNode> rendered) {
+
+        var mats = new MusicMaterial<?>[rendered.size()][];
+        for (int i = 0; i < mats.length; i++) {
+            mats[i] = rendered.get(i).copyMats();
+        }
+        return new Key(List.copyOf(styles), mats);
+    }
+
+    private Map<Key, Map<Style, Double>> segmentOf(Key key) {
+
+        int h = key.hash;
+        return segments.get((h ^ (h >>> 16)) & (SEGMENTS - 1));
+    }
+
+    /**
+     * Get cached scores.
+     *
+     * @param key
+     * @return unmodifiable scores, or null if not cached.
+     */
+    public Map<Style, Double> get(Key key) {
+
+        Map<Style, Double> scores;
+        var segment = segmentOf(key);
+        synchronized (segment) {
+            scores = segment.get(key);
+        }
+        if (scores == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return scores;
+    }
+
+    public void put(Key key, Map<Style, Double> scores) {
+
+        var copy = Map.copyOf(scores);
+        var segment = segmentOf(key);
+        synchronized (segment) {
+            segment.put(key, copy);
+        }
+    }
+
+    public int size() {
+
+        int size = 0;
+        for (var segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+
+        for (var segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+
+        long h = getHits(), total = h + getMisses();
+        return (total == 0) ? 0.0 : 1.0 * h / total;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format("FitnessCache{size=%d/%d, hits=%d, misses=%d, hit rate=%.3f}",
+                size(), capacity, getHits(), getMisses(), getHitRate());
+    }
+
+    /**
+     * Styles and materials of rendered nodes, compared by content. Materials
+     * of each node are indexed by MaterialType ordinal.
+     */
+    public static final class Key {
+
+        private final List<Style> styles;
+        private final MusicMaterial<?>[][] mats;
+        private final int hash;
+
+        private Key(List<Style> styles, MusicMaterial<?>[][] mats) {
+
+            this.styles = styles;
+            this.mats = mats;
+            this.hash = 31 * styles.hashCode() + Arrays.deepHashCode(mats);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return this.hash == other.hash
+                    && this.styles.equals(other.styles)
+                    && Arrays.deepEquals(this.mats, other.mats);
+        }
+    }
+}
@@ -16,16 +16,23 @@
 package tech.metacontext.ec.prototype.composer.model;
 
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.EnumMap;
+import tech.metacontext.ec.prototype.composer.materials.MaterialPool;
 import tech.metacontext.ec.prototype.composer.materials.MusicMaterial;
 import tech.metacontext.ec.prototype.composer.enums.MaterialType;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import tech.metacontext.ec.prototype.abs.Individual;
 import tech.metacontext.ec.prototype.composer.factory.SketchNodeFactory;
 
 /**
+ * Immutable node of materials, one for each MaterialType at most. Materials
+ * are given on construction and never replaced, so that nodes can be shared
+ * between Connectors and Compositions.
  *
  * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
  */
@@ -38,45 +45,134 @@ public class SketchNode extends Individual implements Serializable {
                 .forEach(System.out::println);
     }
 
-    private Map<MaterialType, ? extends MusicMaterial> musicMats;
+    private static final MaterialType[] MATERIAL_TYPES = MaterialType.values();
 
-    public SketchNode(String id) {
+    /**
+     * Materials indexed by MaterialType ordinal, null for a MaterialType not
+     * present.
+     */
+    private final MusicMaterial[] musicMats;
+
+    /**
+     * Constructor with specified id.
+     *
+     * @param id
+     * @param mats material of each MaterialType, or null if not present,
+     * called once per MaterialType in declaration order. Materials are
+     * interned if MaterialPool is enabled.
+     */
+    public SketchNode(String id,
+            Function<MaterialType, ? extends MusicMaterial> mats) {
 
         super(id);
-        this.musicMats = new HashMap<>();
+        this.musicMats = toArray(mats);
+    }
+
+    /**
+     * Constructor with a new id.
+     *
+     * @param mats material of each MaterialType, or null if not present,
+     * called once per MaterialType in declaration order. Materials are
+     * interned if MaterialPool is enabled.
+     */
+    public SketchNode(Function<MaterialType, ? extends MusicMaterial> mats) {
+
+        this.musicMats = toArray(mats);
     }
 
-    public SketchNode() {
+    private static MusicMaterial[] toArray(
+            Function<MaterialType, ? extends MusicMaterial> mats) {
 
-        this.musicMats = new HashMap<>();
+        var array = new MusicMaterial[MATERIAL_TYPES.length];
+        for (var mt : MATERIAL_TYPES) {
+            array[mt.ordinal()] = MaterialPool.intern(mats.apply(mt));
+        }
+        return array;
     }
 
     public MusicMaterial getMat(MaterialType type) {
 
-        return musicMats.get(type);
+        return musicMats[type.ordinal()];
+    }
+
+    /**
+     * Perform an action for each material present, in MaterialType
+     * declaration order.
+     *
+     * @param action
+     */
+    public void forEachMat(BiConsumer<MaterialType, MusicMaterial> action) {
+
+        for (int i = 0; i < musicMats.length; i++) {
+            if (musicMats[i] != null) {
+                action.accept(MATERIAL_TYPES[i], musicMats[i]);
+            }
+        }
+    }
+
+    /**
+     * Copy of materials indexed by MaterialType ordinal, for comparing nodes
+     * by content without building a map.
+     *
+     * @return the copy.
+     */
+    MusicMaterial[] copyMats() {
+
+        return musicMats.clone();
+    }
+
+    /**
+     * Get number of materials present.
+     *
+     * @return the number.
+     */
+    public int getMatCount() {
+
+        int count = 0;
+        for (var mat : musicMats) {
+            if (mat != null) {
+                count++;
+            }
+        }
+        return count;
     }
 
     @Override
     public String toString() {
         return super.toString() + "{"
-                + this.getMats().entrySet().stream()
-                        .map(e -> String.format("%s(%d):%s",
-                        /*..........*/ e.getKey(),
-                        /*..........*/ e.getValue().getDivision(),
-                        /*..........*/ e.getValue().getMaterials()))
+                + IntStream.range(0, musicMats.length)
+                        .filter(i -> musicMats[i] != null)
+                        .mapToObj(i -> String.format("%s(%d):%s",
+                        /*..........*/ MATERIAL_TYPES[i],
+                        /*..........*/ musicMats[i].getDivision(),
+                        /*..........*/ musicMats[i].getMaterials()))
                         .collect(Collectors.joining(", "))
                 + "}";
     }
 
-    /*
-     * Default setters and getters
+    /**
+     * Get materials as a map iterated in MaterialType declaration order. The
+     * map is a copy; changes to it are not written back.
+     *
+     * @return the map.
      */
-    public Map<MaterialType, ? extends MusicMaterial> getMats() {
-        return musicMats;
+    public Map<MaterialType, MusicMaterial> getMats() {
+
+        var mats = new EnumMap<MaterialType, MusicMaterial>(MaterialType.class);
+        this.forEachMat(mats::put);
+        return mats;
     }
 
-    public void setMats(Map<MaterialType, ? extends MusicMaterial> mats) {
-        this.musicMats = mats;
+    /**
+     * SketchNodes are not evaluated.
+     *
+     * @param eval
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void setEval(Object eval) {
+
+        throw new UnsupportedOperationException("SketchNode is immutable.");
     }
 
 }
@@ -15,7 +15,7 @@
  */
 package tech.metacontext.ec.prototype.composer.operations;
 
-import java.util.Random;
+import tech.metacontext.ec.prototype.abs.SplitRandom;
 
 /**
  *
@@ -29,6 +29,6 @@ public enum MutationType {
 
     public static MutationType getRandom() {
 
-        return MutationType.values()[new Random().nextInt(MutationType.values().length)];
+        return MutationType.values()[SplitRandom.current().nextInt(MutationType.values().length)];
     }
 }
@@ -18,6 +18,7 @@ package tech.metacontext.ec.prototype.composer.styles;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import tech.metacontext.ec.prototype.composer.factory.SketchNodeFactory;
+import tech.metacontext.ec.prototype.composer.enums.MaterialType;
 import tech.metacontext.ec.prototype.composer.materials.MusicMaterial;
 import tech.metacontext.ec.prototype.composer.model.Composition;
 import tech.metacontext.ec.prototype.composer.model.SketchNode;
@@ -48,9 +49,13 @@ public class FixedDivision extends Style {
     @Override
     public boolean qualifySketchNode(SketchNode sketchNode) {
 
-        return sketchNode.getMats().values().stream()
-                .mapToInt(MusicMaterial::getDivision)
-                .allMatch(d -> d == this.div);
+        for (var mt : MaterialType.values()) {
+            var mm = sketchNode.getMat(mt);
+            if (mm != null && mm.getDivision() != this.div) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -28,6 +28,7 @@ import java.util.TreeSet;
 import java.util.concurrent.atomic.DoubleAdder;
 import static java.util.function.Predicate.not;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 
 /**
@@ -102,18 +103,41 @@ public class GoldenSectionClimax extends Style {
         return true;
     }
 
+    /**
+     * Rate composition. Thread-safe: intermediate indexes are kept local to the
+     * call instead of being stored into this instance.
+     *
+     * @param composition
+     * @return score.
+     */
     @Override
     public double rateComposition(Composition composition) {
 
-        this.updateClimaxIndexes(composition);
-        double sum = IntStream.range(0, composition.getSize())
-                .mapToDouble(i
-                        -> Math.abs(climaxIndexes.get(i) - this.standards.get(i)))
-                .sum();
-        return (base - sum) / base;
+        double[] indexes = composition
+                .getRenderedChecked("GoldenSectionClimax::rateComposition")
+                .stream()
+                .mapToDouble(this::climaxIndex)
+                .toArray();
+        double max = DoubleStream.of(indexes).max().orElse(0.0);
+        int size = composition.getSize();
+        double sum = 0.0, total = 0.0;
+        for (int i = 0; i < size; i++) {
+            double standard = getStandard(size, i, max);
+            sum += Math.abs(indexes[i] - standard);
+            total += standard;
+        }
+        return (total - sum) / total;
     }
 
-    public void updateClimaxIndexes(Composition composition) {
+    /**
+     * Update climax indexes, standards, peak and base of specified composition
+     * into this instance for reporting. Updates are serialized per instance,
+     * but the getters reading the results back are not synchronized, so read
+     * them from the updating thread while no other update runs.
+     *
+     * @param composition
+     */
+    public synchronized void updateClimaxIndexes(Composition composition) {
 
         this.climaxIndexes = composition
                 .getRenderedChecked("GoldenSectionClimax::rateComposition")
@@ -135,35 +159,35 @@ public class GoldenSectionClimax extends Style {
         if (i < 0 || i > composition.getSize() - 1) {
             return 0.0;
         }
-        long peakNodeIndex = Math.round((composition.getSize() - 1) / RATIO);
+        return getStandard(composition.getSize(), i, peak);
+    }
+
+    public static double getStandard(int size, int i, double peak) {
+
+        long peakNodeIndex = Math.round((size - 1) / RATIO);
         return (i < peakNodeIndex)
                 ? (i + 1) * peak / (peakNodeIndex + 1)
-                : (composition.getSize() - i) * peak
-                / (composition.getSize() - peakNodeIndex);
+                : (size - i) * peak
+                / (size - peakNodeIndex);
     }
 
     public double climaxIndex(SketchNode node) {
 
         DoubleAdder index = new DoubleAdder();
-        node.getMats().forEach((mt, mm) -> {
+        node.forEachMat((mt, mm) -> {
             double mti = 0.0;
             switch (mt) {
                 case DYNAMICS:
-                    mti = ((Dynamics) mm).getAvgIntensityIndex(mat
-                            -> Intensity.getIntensityIndex(mat, ((Dynamics) mm).getLowestIntensity(),
-                                    ((Dynamics) mm).getHighestIntensity()));
+                    mti = ((Dynamics) mm).getAvgIntensityIndex();
                     break;
                 case NOTE_RANGES:
-                    mti = ((NoteRanges) mm).getAvgIntensityIndex(mat
-                            -> NoteRanges.getIntensityIndex(mat, lowest, highest));
+                    mti = ((NoteRanges) mm).getAvgIntensityIndex(lowest, highest);
                     break;
                 case PITCH_SETS:
                     mti = ((PitchSets) mm).getIntensityIndex();
                     break;
                 case RHYTHMIC_POINTS:
-                    var rp = (RhythmicPoints) mm;
-                    mti = rp.getAvgIntensityIndex(mat
-                            -> 1.0 * (mat - rp.getMin()) / (rp.getMax() - rp.getMin()));
+                    mti = ((RhythmicPoints) mm).getAvgIntensityIndex();
                     break;
                 default:
             }
@@ -171,10 +195,10 @@ public class GoldenSectionClimax extends Style {
                     "mti not in range: " + mt + " = " + mti + "\n" + node;
             index.add(mti);
         });
-        return index.doubleValue() / node.getMats().size();
+        return index.doubleValue() / node.getMatCount();
     }
 
-    public int compareToPeak(Composition o1, Composition o2) {
+    public synchronized int compareToPeak(Composition o1, Composition o2) {
 
         this.updateClimaxIndexes(o1);
         double o1Peak = this.getPeak();
@@ -15,6 +15,7 @@
  */
 package tech.metacontext.ec.prototype.composer.styles;
 
+import tech.metacontext.ec.prototype.abs.SplitRandom;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -72,7 +73,7 @@ public class UnaccompaniedCello extends Style {
                         .getMaterials()
                         .stream()
                         .mapToDouble(list -> list.stream().mapToDouble(RANGE::get).average().getAsDouble())
-                        .average().getAsDouble() > Math.random()
+                        .average().getAsDouble() > SplitRandom.current().nextDouble()
                 : false;
         PitchSets ps = (PitchSets) sketchNode.getMat(MaterialType.PITCH_SETS);
         RhythmicPoints rp = (RhythmicPoints) sketchNode.getMat(MaterialType.RHYTHMIC_POINTS);
@@ -82,7 +83,6 @@ public class UnaccompaniedCello extends Style {
                 if (ps.getMaterials().get(i).size() > rp.getMaterials().get(i) * 2) {
                     return false;
                 }
-                System.out.println("ps.getMaterials().get(i).size() > rp.getMaterials().get(i) * 2 == false");
             }
         }
         return inrange && chance;
@@ -91,13 +91,11 @@ public class UnaccompaniedCello extends Style {
     @Override
     public double rateComposition(Composition composition) {
 
+        int outOfRange = ~NoteRanges.toMask(RANGE.keySet());
         if (composition.getRenderedChecked(this.getClass().getSimpleName() + "::rateComposition")
                 .stream()
                 .map(node -> ((NoteRanges) node.getMat(MaterialType.NOTE_RANGES)))
-                .map(mm -> mm.getMaterials())
-                .flatMap(lnrs -> lnrs.stream())
-                .flatMap(nrs -> nrs.stream())
-                .allMatch(RANGE::containsKey)) {
+                .allMatch(mm -> (mm.getRangeMask() & outOfRange) == 0)) {
             return 1.0;
         }
         return 0.0;
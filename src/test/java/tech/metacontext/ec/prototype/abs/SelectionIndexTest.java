@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.abs;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rank bands drawn from by SelectionIndex.select.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class SelectionIndexTest {
+
+    private static final int DRAWS = 2000;
+
+    private static Set<String> draw(SelectionIndex<String> index, double threshold) {
+
+        var random = new SplitRandom(42L);
+        var drawn = new HashSet<String>();
+        for (int i = 0; i < DRAWS; i++) {
+            drawn.add(index.select(threshold, random));
+        }
+        return drawn;
+    }
+
+    private static SelectionIndex<String> indexOf(Map<String, Double> scores) {
+
+        return new SelectionIndex<>(scores.keySet(), scores::get);
+    }
+
+    @Test
+    public void thresholdZeroDrawsFromAll() {
+
+        var scores = IntStream.range(0, 10).boxed()
+                .collect(Collectors.toMap(i -> "c" + i, i -> (double) i));
+        assertEquals(scores.keySet(), draw(indexOf(scores), 0.0));
+    }
+
+    @Test
+    public void thresholdOneDrawsTopScoreOnly() {
+
+        var scores = IntStream.range(0, 10).boxed()
+                .collect(Collectors.toMap(i -> "c" + i, i -> (double) i));
+        assertEquals(Set.of("c9"), draw(indexOf(scores), 1.0));
+    }
+
+    @Test
+    public void thresholdOneDrawsAllTiedAtTop() {
+
+        var scores = Map.of("a", 0.1, "b", 0.2, "c", 0.3, "d", 0.3, "e", 0.3);
+        assertEquals(Set.of("c", "d", "e"), draw(indexOf(scores), 1.0));
+    }
+
+    @Test
+    public void thresholdIncludesTiesBelowRank() {
+
+        // rank (5 - 1) * 0.5 = 2 holds 0.2, tied with rank 1
+        var scores = Map.of("a", 0.1, "b", 0.2, "c", 0.2, "d", 0.3, "e", 0.4);
+        assertEquals(Set.of("b", "c", "d", "e"), draw(indexOf(scores), 0.5));
+    }
+
+    @Test
+    public void singleIndividual() {
+
+        var index = indexOf(Map.of("a", 0.5));
+        assertEquals(Set.of("a"), draw(index, 0.0));
+        assertEquals(Set.of("a"), draw(index, 1.0));
+    }
+
+    @Test
+    public void emptyOrOutOfRange() {
+
+        var random = new SplitRandom(42L);
+        assertNull(new SelectionIndex<String>(List.of(), s -> 0.0).select(0.5, random));
+        var index = indexOf(Map.of("a", 0.1, "b", 0.2));
+        assertNull(index.select(-0.1, random));
+        assertNull(index.select(1.1, random));
+    }
+}
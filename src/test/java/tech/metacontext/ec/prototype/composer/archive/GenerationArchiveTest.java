@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.archive;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import tech.metacontext.ec.prototype.composer.Main;
+import tech.metacontext.ec.prototype.composer.Settings.LogState;
+import tech.metacontext.ec.prototype.composer.enums.ComposerAim;
+import tech.metacontext.ec.prototype.composer.enums.MaterialType;
+import tech.metacontext.ec.prototype.composer.materials.MaterialCodecTest;
+import tech.metacontext.ec.prototype.composer.model.Composer;
+import tech.metacontext.ec.prototype.composer.model.Composition;
+import tech.metacontext.ec.prototype.composer.styles.GoldenSectionClimax;
+import tech.metacontext.ec.prototype.composer.styles.UnaccompaniedCello;
+
+/**
+ * Generations written by GenerationWriter, mapped by MappedArchive and read
+ * back by GenerationView, with list and packed material implementations.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class GenerationArchiveTest {
+
+    private static final int GENERATION = 7;
+
+    private Path folder;
+    private Composer composer;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+
+        this.folder = Files.createTempDirectory("archive");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+
+        if (composer != null) {
+            composer.close();
+        }
+        MaterialCodecTest.useListMaterials();
+        try (var paths = Files.walk(folder)) {
+            paths.sorted(Comparator.reverseOrder())
+                    .forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private List<Composition> evolve() throws Exception {
+
+        this.composer = new Composer(30, ComposerAim.Phrase, LogState.DISABLED,
+                0.9, 0.7, 42L, new UnaccompaniedCello(),
+                new GoldenSectionClimax(UnaccompaniedCello.RANGE.keySet()));
+        composer.ARCHIVE_SCORES_ONLY = true;
+        for (int i = 0; i < 5; i++) {
+            composer.sketch().evolve();
+        }
+        composer.getPopulation().forEach(Composition::updateEval);
+        return composer.getPopulation();
+    }
+
+    private void assertRoundTrips() throws Exception {
+
+        var population = evolve();
+        var styles = composer.getStyles();
+        var file = GenerationWriter.write(folder, GENERATION, population, styles);
+        assertEquals(GENERATION, ArchiveFormat.generationOf(file));
+
+        var archive = MappedArchive.open(folder);
+        assertEquals(1, archive.size());
+        var view = archive.getGeneration(0);
+        assertEquals(GENERATION, view.getGeneration());
+        assertEquals(population.size(), view.size());
+        var minScores = archive.getMinScores(0, composer.getAim());
+
+        var read = view.getCompositions(composer);
+        var covered = new boolean[MaterialType.values().length];
+        for (int i = 0; i < population.size(); i++) {
+            var expected = population.get(i);
+            var actual = read.get(i);
+            assertEquals(expected.getId(), view.getId(i));
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getSize(), view.getNodeCount(i));
+            assertEquals(expected.getSize(), actual.getSize());
+            assertEquals(composer.getMinScore(expected), minScores[i]);
+            for (int s = 0; s < styles.size(); s++) {
+                var style = styles.get(s);
+                double score = expected.getEval().getScores().get(style);
+                assertEquals(score, view.getScore(i, s));
+                assertEquals(score, (double) actual.getEval().getScores().get(style));
+            }
+            for (int c = 0; c < expected.getConnectors().size(); c++) {
+                var conn = expected.getConnectors().get(c);
+                var readConn = actual.getConnectors().get(c);
+                assertEquals(conn.getId(), readConn.getId());
+                assertEquals(conn.getTransformTypes(), readConn.getTransformTypes());
+            }
+            var nodes = expected.getRendered();
+            var readNodes = actual.getRendered();
+            assertEquals(nodes.size(), readNodes.size());
+            for (int n = 0; n < nodes.size(); n++) {
+                assertEquals(nodes.get(n).getId(), readNodes.get(n).getId());
+                assertEquals(nodes.get(n).getMats(), readNodes.get(n).getMats());
+                readNodes.get(n).forEachMat((mt, mm) -> {
+                    assertEquals(mt.getImplementation(), mm.getClass());
+                    covered[mt.ordinal()] = true;
+                });
+            }
+        }
+        for (var mt : MaterialType.values()) {
+            assertTrue(covered[mt.ordinal()], mt + " not archived");
+        }
+    }
+
+    @Test
+    public void listMaterialsRoundTrip() throws Exception {
+
+        assertRoundTrips();
+    }
+
+    @Test
+    public void packedMaterialsRoundTrip() throws Exception {
+
+        Main.usePackedMaterials();
+        assertRoundTrips();
+    }
+
+    @Test
+    public void emptyGenerationRoundTrips() throws Exception {
+
+        evolve();
+        var file = GenerationWriter.write(folder, GENERATION, List.of(),
+                composer.getStyles());
+        var view = GenerationView.map(file);
+        assertEquals(GENERATION, view.getGeneration());
+        assertEquals(0, view.size());
+        assertTrue(view.getCompositions(composer).isEmpty());
+        assertEquals(0, view.getMinScores(composer.getAim()).length);
+        assertEquals(1, MappedArchive.open(folder).size());
+    }
+}
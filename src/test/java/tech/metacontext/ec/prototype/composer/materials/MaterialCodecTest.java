@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.materials;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import tech.metacontext.ec.prototype.abs.SplitRandom;
+import tech.metacontext.ec.prototype.composer.Main;
+import tech.metacontext.ec.prototype.composer.enums.MaterialType;
+import tech.metacontext.ec.prototype.composer.enums.TransformType;
+
+/**
+ * Materials of every MaterialType written and read back by MaterialCodec,
+ * with list and packed implementations.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class MaterialCodecTest {
+
+    private static final int SEEDS = 100;
+
+    /**
+     * Restore the default implementations selected by Main.usePackedMaterials.
+     */
+    public static void useListMaterials() {
+
+        MaterialType.DYNAMICS.setImplementation(Dynamics.class,
+                Dynamics::new, mm -> (Dynamics) mm);
+        MaterialType.PITCH_SETS.setImplementation(PitchSets.class,
+                PitchSets::new, mm -> (PitchSets) mm);
+        MaterialType.RHYTHMIC_POINTS.setImplementation(RhythmicPoints.class,
+                RhythmicPoints::new, mm -> (RhythmicPoints) mm);
+        MaterialType.NOTE_RANGES.setImplementation(NoteRanges.class,
+                NoteRanges::new, mm -> (NoteRanges) mm);
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        useListMaterials();
+    }
+
+    private static MusicMaterial roundTrip(MusicMaterial mm) throws IOException {
+
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            MaterialCodec.write(out, mm);
+        }
+        var in = ByteBuffer.wrap(bytes.toByteArray());
+        var read = MaterialCodec.read(in, typeOf(mm));
+        assertFalse(in.hasRemaining());
+        return read;
+    }
+
+    private static MaterialType typeOf(MusicMaterial mm) {
+
+        for (var mt : MaterialType.values()) {
+            if (mt.getImplementation().isInstance(mm)) {
+                return mt;
+            }
+        }
+        throw new IllegalArgumentException(mm.getClass().getSimpleName());
+    }
+
+    private static void assertRoundTrips() throws IOException {
+
+        for (var mt : MaterialType.values()) {
+            for (long seed = 0; seed < SEEDS; seed++) {
+                var random = new SplitRandom(seed);
+                var mm = SplitRandom.callWith(random, mt::getRandomInstance);
+                assertEquals(mt.getImplementation(), mm.getClass());
+                for (var tt : TransformType.values()) {
+                    MusicMaterial transformed = SplitRandom.callWith(random,
+                            () -> mm.transform(tt));
+                    var read = roundTrip(transformed);
+                    assertEquals(transformed.getClass(), read.getClass());
+                    assertEquals(transformed, read);
+                    assertTrue(read.isSealed());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void listMaterialsRoundTrip() throws IOException {
+
+        assertRoundTrips();
+    }
+
+    @Test
+    public void packedMaterialsRoundTrip() throws IOException {
+
+        Main.usePackedMaterials();
+        assertRoundTrips();
+    }
+}
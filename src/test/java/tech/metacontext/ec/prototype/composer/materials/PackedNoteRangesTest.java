@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.materials;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import tech.metacontext.ec.prototype.abs.SplitRandom;
+import tech.metacontext.ec.prototype.composer.enums.TransformType;
+import tech.metacontext.ec.prototype.composer.enums.mats.NoteRange;
+
+/**
+ * PackedNoteRanges against NoteRanges generated from the same seed. Range
+ * sets are compared as sets, PackedNoteRanges dropping the duplicates a
+ * clamped move leaves in NoteRanges.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class PackedNoteRangesTest {
+
+    private static final int SEEDS = 100;
+
+    private static final NoteRange[][] BOUNDS = {
+        {NoteRange.C0, NoteRange.C8},
+        {NoteRange.C2, NoteRange.C5},
+        {NoteRange.C3, NoteRange.C3}
+    };
+
+    private static <T> T seeded(long seed, Supplier<T> task) {
+
+        return SplitRandom.callWith(new SplitRandom(seed), task);
+    }
+
+    private static List<Object> content(NoteRanges nr) {
+
+        return List.of(nr.getDivision(), nr.getLowest(), nr.getHighest(),
+                nr.getMaterials().stream()
+                        .map(Set::copyOf)
+                        .collect(Collectors.toList()));
+    }
+
+    private static void assertMatches(NoteRanges expected, NoteRanges actual) {
+
+        assertEquals(content(expected), content(actual));
+        assertEquals(expected.getRangeMask(), actual.getRangeMask());
+        for (var bounds : BOUNDS) {
+            assertEquals(expected.getAvgIntensityIndex(bounds[0], bounds[1]),
+                    actual.getAvgIntensityIndex(bounds[0], bounds[1]));
+        }
+    }
+
+    @Test
+    public void generateMatches() {
+
+        for (long seed = 0; seed < SEEDS; seed++) {
+            assertMatches(seeded(seed, () -> new NoteRanges().random()),
+                    seeded(seed, () -> new PackedNoteRanges().random()));
+        }
+    }
+
+    @Test
+    public void transformMatches() {
+
+        for (long seed = 0; seed < SEEDS; seed++) {
+            NoteRanges list = seeded(seed, () -> new NoteRanges().random());
+            var packed = new PackedNoteRanges(list);
+            assertMatches(list, packed);
+            for (var tt : TransformType.values()) {
+                long s = seed + SEEDS;
+                assertMatches(seeded(s, () -> list.transform(tt)),
+                        seeded(s, () -> packed.transform(tt)));
+            }
+        }
+    }
+
+    @Test
+    public void equalsMatches() {
+
+        var lists = new ArrayList<NoteRanges>();
+        for (long seed = 0; seed < SEEDS / 4; seed++) {
+            NoteRanges list = seeded(seed, () -> new NoteRanges().random());
+            lists.add(list);
+            lists.add(list.transform(TransformType.Retrograde)
+                    .transform(TransformType.Retrograde));
+            lists.add(list.transform(TransformType.MoveForward));
+        }
+        var packed = lists.stream()
+                .map(PackedNoteRanges::new)
+                .collect(Collectors.toList());
+        for (int i = 0; i < lists.size(); i++) {
+            for (int j = 0; j < lists.size(); j++) {
+                boolean equal = content(lists.get(i)).equals(content(lists.get(j)));
+                assertEquals(equal, packed.get(i).equals(packed.get(j)));
+                if (equal) {
+                    assertEquals(packed.get(i).hashCode(), packed.get(j).hashCode());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 Jonathan Chang, Chun-yien <ccy@musicapoetica.org>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.metacontext.ec.prototype.composer.materials;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import tech.metacontext.ec.prototype.abs.SplitRandom;
+import tech.metacontext.ec.prototype.composer.enums.TransformType;
+
+/**
+ * PackedRhythmicPoints against RhythmicPoints generated from the same seed.
+ *
+ * @author Jonathan Chang, Chun-yien <ccy@musicapoetica.org>
+ */
+public class PackedRhythmicPointsTest {
+
+    private static final int SEEDS = 100;
+
+    private static <T> T seeded(long seed, Supplier<T> task) {
+
+        return SplitRandom.callWith(new SplitRandom(seed), task);
+    }
+
+    private static List<Object> content(RhythmicPoints m) {
+
+        return List.of(m.getDivision(), m.getMin(), m.getMax(), m.getMaterials());
+    }
+
+    private static void assertMatches(RhythmicPoints expected, RhythmicPoints actual) {
+
+        assertEquals(content(expected), content(actual));
+        assertEquals(expected.getAvgIntensityIndex(), actual.getAvgIntensityIndex());
+    }
+
+    @Test
+    public void generateMatches() {
+
+        for (long seed = 0; seed < SEEDS; seed++) {
+            assertMatches(seeded(seed, () -> new RhythmicPoints().random()),
+                    seeded(seed, () -> new PackedRhythmicPoints().random()));
+        }
+    }
+
+    @Test
+    public void transformMatches() {
+
+        for (long seed = 0; seed < SEEDS; seed++) {
+            RhythmicPoints list = seeded(seed, () -> new RhythmicPoints().random());
+            var packed = new PackedRhythmicPoints(list);
+            assertMatches(list, packed);
+            for (var tt : TransformType.values()) {
+                long s = seed + SEEDS;
+                assertMatches(seeded(s, () -> list.transform(tt)),
+                        seeded(s, () -> packed.transform(tt)));
+            }
+        }
+    }
+
+    @Test
+    public void equalsMatches() {
+
+        var lists = new ArrayList<RhythmicPoints>();
+        for (long seed = 0; seed < SEEDS / 4; seed++) {
+            RhythmicPoints list = seeded(seed, () -> new RhythmicPoints().random());
+            lists.add(list);
+            lists.add(list.transform(TransformType.Retrograde)
+                    .transform(TransformType.Retrograde));
+            lists.add(list.transform(TransformType.MoveForward));
+        }
+        var packed = lists.stream()
+                .map(PackedRhythmicPoints::new)
+                .collect(Collectors.toList());
+        for (int i = 0; i < lists.size(); i++) {
+            for (int j = 0; j < lists.size(); j++) {
+                boolean equal = lists.get(i).equals(lists.get(j));
+                assertEquals(equal, packed.get(i).equals(packed.get(j)));
+                if (equal) {
+                    assertEquals(packed.get(i).hashCode(), packed.get(j).hashCode());
+                }
+            }
+        }
+    }
+}